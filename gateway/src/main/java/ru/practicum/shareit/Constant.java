@@ -10,5 +10,13 @@ public class Constant {
     public static final String STATE_DEFAULT = "ALL";
     public static final String PAGE_FROM_DEFAULT = "0";
     public static final String PAGE_SIZE_DEFAULT = "10";
+    public static final String SUGGEST_LIMIT_DEFAULT = "5";
+    public static final int SUGGEST_LIMIT_MAX = 10;
+    public static final int BATCH_SIZE_MAX = 500;
+    public static final String EXPORT_FORMAT_DEFAULT = "NDJSON";
+    public static final String EXPORT_FORMAT_PATTERN = "^(NDJSON|CSV)$";
+    public static final int IMPORT_LINE_LENGTH_MAX = 4096;
+    public static final String MONTH_PATTERN = "yyyy-MM";
+    public static final String CURSOR_PATTERN = "^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}(:\\d{2}(\\.\\d{1,9})?)?,\\d+$";
 
 }
@@ -10,6 +10,10 @@ import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
 import ru.practicum.shareit.client.BaseClient;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -30,11 +34,20 @@ public class BookingClient extends BaseClient {
         return post("", userId, bookingDtoCreate);
     }
 
+    public ResponseEntity<Object> createBookings(List<BookingDtoCreate> bookingDtoCreates, Long userId) {
+        return post("/batch", userId, bookingDtoCreates);
+    }
+
     public ResponseEntity<Object> updateBooking(Long bookingId, Long userId, Boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters);
     }
 
+    public ResponseEntity<Object> updateBookings(List<Long> bookingIds, Long userId, Boolean approved) {
+        Map<String, Object> parameters = Map.of("approved", approved);
+        return patch("/owner/status?approved={approved}", userId, parameters, bookingIds);
+    }
+
     public ResponseEntity<Object> getOneBookingUser(Long bookingId, Long userId) {
         return get("/" + bookingId, userId);
     }
@@ -48,4 +61,33 @@ public class BookingClient extends BaseClient {
         Map<String, Object> parameters = Map.of("state", state.name(), "from", from, "size", size);
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
+
+    public ResponseEntity<Object> getAllBookingsBookerAfter(Long userId, BookingState state, String after,
+                                                            Integer size) {
+        Map<String, Object> parameters = Map.of("state", state.name(), "after", after, "size", size);
+        return get("?state={state}&after={after}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getAllBookingsOwnerAfter(Long userId, BookingState state, String after,
+                                                           Integer size) {
+        Map<String, Object> parameters = Map.of("state", state.name(), "after", after, "size", size);
+        return get("/owner?state={state}&after={after}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getBookingCountsBooker(Long userId) {
+        return get("/counts", userId);
+    }
+
+    public ResponseEntity<Object> getBookingCountsOwner(Long userId) {
+        return get("/owner/counts", userId);
+    }
+
+    public ResponseEntity<Object> getCalendarOwner(Long userId, YearMonth month) {
+        Map<String, Object> parameters = Map.of("month", month.toString());
+        return get("/owner/calendar?month={month}", userId, parameters);
+    }
+
+    public void exportBookingsOwner(Long userId, String format, HttpServletResponse response) throws IOException {
+        stream("/owner/export?format={format}", userId, Map.of("format", format), response);
+    }
 }
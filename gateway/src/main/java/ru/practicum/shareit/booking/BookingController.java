@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -9,10 +10,12 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
 import ru.practicum.shareit.booking.dto.validator.state.ValidState;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
-import javax.validation.constraints.Min;
-import javax.validation.constraints.NotNull;
-import javax.validation.constraints.Positive;
+import javax.validation.constraints.*;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.List;
 
 import static ru.practicum.shareit.Constant.*;
 
@@ -32,6 +35,14 @@ public class BookingController {
         return bookingClient.createBooking(bookingDtoCreate, userId);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createBookings(@RequestBody @NotEmpty @Size(max = BATCH_SIZE_MAX)
+                                                 List<@Valid @NotNull BookingDtoCreate> bookingDtoCreates,
+                                                 @RequestHeader(USER_HEADER) Long userId) {
+        log.info("POST: user request with id={} to create {} bookings", userId, bookingDtoCreates.size());
+        return bookingClient.createBookings(bookingDtoCreates, userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> updateBooking(@RequestHeader(USER_HEADER) Long userId,
                                                 @PathVariable @Positive @NotNull Long bookingId,
@@ -41,6 +52,16 @@ public class BookingController {
         return bookingClient.updateBooking(bookingId, userId, approved);
     }
 
+    @PatchMapping("/owner/status")
+    public ResponseEntity<Object> updateBookings(@RequestHeader(USER_HEADER) Long userId,
+                                                 @RequestBody @NotEmpty @Size(max = BATCH_SIZE_MAX)
+                                                 List<@NotNull @Positive Long> bookingIds,
+                                                 @RequestParam @NotNull Boolean approved) {
+        log.info("PATCH: owner request with id={} to update bookings {} with parameter \"approved\"={}",
+                userId, bookingIds, approved);
+        return bookingClient.updateBookings(bookingIds, userId, approved);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getOneBookingUser(@PathVariable @Positive @NotNull Long bookingId,
                                                     @RequestHeader(USER_HEADER) Long userId) {
@@ -55,7 +76,14 @@ public class BookingController {
                                                        @RequestParam(defaultValue = PAGE_FROM_DEFAULT)
                                                            @Min(0) Integer from,
                                                        @RequestParam(defaultValue = PAGE_SIZE_DEFAULT)
-                                                           @Min(1) Integer size) {
+                                                           @Min(1) Integer size,
+                                                       @RequestParam(required = false)
+                                                       @Pattern(regexp = CURSOR_PATTERN) String after) {
+        if (after != null) {
+            log.info("GET: user request with id={} to view a bookings with state={}. Page after={}, page size={}",
+                    userId, state, after, size);
+            return bookingClient.getAllBookingsBookerAfter(userId, BookingState.valueOf(state), after, size);
+        }
         log.info("GET: user request with id={} to view a bookings with state={}. Page from={}, page size={}",
                 userId, state, from, size);
         return bookingClient.getAllBookingsBooker(userId, BookingState.valueOf(state), from, size);
@@ -68,9 +96,45 @@ public class BookingController {
                                                       @RequestParam(defaultValue = PAGE_FROM_DEFAULT)
                                                           @Min(0) Integer from,
                                                       @RequestParam(defaultValue = PAGE_SIZE_DEFAULT)
-                                                          @Min(1) Integer size) {
+                                                          @Min(1) Integer size,
+                                                      @RequestParam(required = false)
+                                                      @Pattern(regexp = CURSOR_PATTERN) String after) {
+        if (after != null) {
+            log.info("GET: owner request with id={} to view a bookings with state={}. Page after={}, page size={}",
+                    userId, state, after, size);
+            return bookingClient.getAllBookingsOwnerAfter(userId, BookingState.valueOf(state), after, size);
+        }
         log.info("GET: owner request with id={} to view a bookings with state={}. Page from={}, page size={}",
                 userId, state, from, size);
         return bookingClient.getAllBookingsOwner(userId, BookingState.valueOf(state), from, size);
     }
+
+    @GetMapping("/counts")
+    public ResponseEntity<Object> getBookingCountsBooker(@RequestHeader(USER_HEADER) Long userId) {
+        log.info("GET: user request with id={} to view booking counts by state", userId);
+        return bookingClient.getBookingCountsBooker(userId);
+    }
+
+    @GetMapping("/owner/counts")
+    public ResponseEntity<Object> getBookingCountsOwner(@RequestHeader(USER_HEADER) Long userId) {
+        log.info("GET: owner request with id={} to view booking counts by state", userId);
+        return bookingClient.getBookingCountsOwner(userId);
+    }
+
+    @GetMapping("/owner/calendar")
+    public ResponseEntity<Object> getCalendarOwner(@RequestHeader(USER_HEADER) Long userId,
+                                                   @RequestParam @DateTimeFormat(pattern = MONTH_PATTERN)
+                                                   YearMonth month) {
+        log.info("GET: owner request with id={} to view the booking calendar for month={}", userId, month);
+        return bookingClient.getCalendarOwner(userId, month);
+    }
+
+    @GetMapping("/owner/export")
+    public void exportBookingsOwner(@RequestHeader(USER_HEADER) Long userId,
+                                    @RequestParam(defaultValue = EXPORT_FORMAT_DEFAULT)
+                                    @Pattern(regexp = EXPORT_FORMAT_PATTERN) String format,
+                                    HttpServletResponse response) throws IOException {
+        log.info("GET: owner request with id={} to export bookings in format={}", userId, format);
+        bookingClient.exportBookingsOwner(userId, format, response);
+    }
 }
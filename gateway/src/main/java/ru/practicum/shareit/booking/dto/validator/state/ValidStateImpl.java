@@ -19,7 +19,8 @@ public class ValidStateImpl implements ConstraintValidator<ValidState, String> {
 
         boolean isState = state.equals("CURRENT") || state.equals("PAST")
                 || state.equals("FUTURE") || state.equals("WAITING")
-                || state.equals("REJECTED") || state.equals("ALL");
+                || state.equals("REJECTED") || state.equals("EXPIRED")
+                || state.equals("ALL");
 
         if (!isState) {
             log.warn("State booking={} not exists", state);
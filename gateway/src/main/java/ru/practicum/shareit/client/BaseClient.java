@@ -2,9 +2,12 @@ package ru.practicum.shareit.client;
 
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -65,6 +68,49 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected void stream(String path, Long userId, Map<String, Object> parameters,
+                          HttpServletResponse servletResponse) throws IOException {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setAccept(List.of(MediaType.ALL));
+        try {
+            rest.execute(path, HttpMethod.GET, request -> request.getHeaders().putAll(headers), response -> {
+                servletResponse.setStatus(response.getRawStatusCode());
+                copyHeader(response.getHeaders(), servletResponse, HttpHeaders.CONTENT_TYPE);
+                copyHeader(response.getHeaders(), servletResponse, HttpHeaders.CONTENT_DISPOSITION);
+                StreamUtils.copy(response.getBody(), servletResponse.getOutputStream());
+                return null;
+            }, parameters);
+        } catch (HttpStatusCodeException e) {
+            servletResponse.setStatus(e.getRawStatusCode());
+            servletResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            servletResponse.getOutputStream().write(e.getResponseBodyAsByteArray());
+        }
+    }
+
+    protected ResponseEntity<Object> upload(String path, Long userId, StreamingHttpOutputMessage.Body body) {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        try {
+            return rest.execute(path, HttpMethod.POST, request -> {
+                request.getHeaders().putAll(headers);
+                if (request instanceof StreamingHttpOutputMessage) {
+                    ((StreamingHttpOutputMessage) request).setBody(body);
+                } else {
+                    body.writeTo(request.getBody());
+                }
+            }, rest.responseEntityExtractor(Object.class));
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        }
+    }
+
+    private static void copyHeader(HttpHeaders headers, HttpServletResponse servletResponse, String name) {
+        String value = headers.getFirst(name);
+        if (value != null) {
+            servletResponse.setHeader(name, value);
+        }
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method,
                                                           String path,
                                                           Long userId,
@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
@@ -11,8 +12,13 @@ import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Map;
 
+import static ru.practicum.shareit.Constant.DATE_FORMAT;
+
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
@@ -22,7 +28,12 @@ public class ItemClient extends BaseClient {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(() -> {
+                            HttpComponentsClientHttpRequestFactory requestFactory =
+                                    new HttpComponentsClientHttpRequestFactory();
+                            requestFactory.setBufferRequestBody(false);
+                            return requestFactory;
+                        })
                         .build()
         );
     }
@@ -45,11 +56,39 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> suggestItems(String prefix, Long userId, Integer limit) {
+        Map<String, Object> parameters = Map.of("prefix", prefix, "limit", limit);
+        return get("/suggest?prefix={prefix}&limit={limit}", userId, parameters);
+    }
+
+    public void exportItems(Long userId, String format, HttpServletResponse response) throws IOException {
+        stream("/export?format={format}", userId, Map.of("format", format), response);
+    }
+
+    public ResponseEntity<Object> importItems(Long userId, StreamingHttpOutputMessage.Body body) {
+        return upload("/import", userId, body);
+    }
+
     public ResponseEntity<Object> findById(Long itemId, Long userId) {
         return get("/" + itemId, userId);
     }
 
+    public ResponseEntity<Object> getAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of("from", from.format(DATE_FORMAT), "to", to.format(DATE_FORMAT));
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
     public ResponseEntity<Object> createComment(CommentDto commentDto, Long userId, Long itemId) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
+
+    public ResponseEntity<Object> getComments(Long itemId, Long userId, Integer size) {
+        Map<String, Object> parameters = Map.of("size", size);
+        return get("/" + itemId + "/comments?size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getCommentsAfter(Long itemId, Long userId, String after, Integer size) {
+        Map<String, Object> parameters = Map.of("after", after, "size", size);
+        return get("/" + itemId + "/comments?after={after}&size={size}", userId, parameters);
+    }
 }
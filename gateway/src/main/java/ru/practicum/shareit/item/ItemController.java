@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -11,10 +12,17 @@ import ru.practicum.shareit.config.Update;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Positive;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 
 import static ru.practicum.shareit.Constant.*;
 
@@ -25,6 +33,7 @@ import static ru.practicum.shareit.Constant.*;
 @Slf4j
 public class ItemController {
     private final ItemClient itemClient;
+    private final ItemImportConverter itemImportConverter;
 
 
     @PostMapping
@@ -52,6 +61,25 @@ public class ItemController {
         return itemClient.findAll(userId, from, size);
     }
 
+    @GetMapping("/export")
+    public void exportItems(@RequestHeader(USER_HEADER) Long userId,
+                            @RequestParam(defaultValue = EXPORT_FORMAT_DEFAULT)
+                            @Pattern(regexp = EXPORT_FORMAT_PATTERN) String format,
+                            HttpServletResponse response) throws IOException {
+        log.info("GET: user request with id={} to export items in format={}", userId, format);
+        itemClient.exportItems(userId, format, response);
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<Object> importItems(@RequestHeader(USER_HEADER) Long userId,
+                                              @RequestParam(defaultValue = EXPORT_FORMAT_DEFAULT)
+                                              @Pattern(regexp = EXPORT_FORMAT_PATTERN) String format,
+                                              InputStream inputStream) {
+        log.info("POST: user request with id={} to import items in format={}", userId, format);
+        return itemClient.importItems(userId,
+                outputStream -> itemImportConverter.convert(format, inputStream, outputStream));
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Object> searchItem(@RequestParam String text,
                                              @RequestHeader(USER_HEADER) Long userId,
@@ -61,6 +89,15 @@ public class ItemController {
         return itemClient.searchItem(text, userId, from, size);
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggestItems(@RequestParam @NotBlank String prefix,
+                                               @RequestHeader(USER_HEADER) Long userId,
+                                               @RequestParam(defaultValue = SUGGEST_LIMIT_DEFAULT) @Min(1)
+                                               @Max(SUGGEST_LIMIT_MAX) Integer limit) {
+        log.info("GET: user request with id={} to suggest items by prefix={}, limit={}", userId, prefix, limit);
+        return itemClient.suggestItems(prefix, userId, limit);
+    }
+
     @GetMapping("/{itemId}")
     public ResponseEntity<Object> findById(@PathVariable @Positive @NotNull Long itemId,
                                            @RequestHeader(USER_HEADER) Long userId) {
@@ -68,6 +105,18 @@ public class ItemController {
         return itemClient.findById(itemId, userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@PathVariable @Positive @NotNull Long itemId,
+                                                  @RequestHeader(USER_HEADER) Long userId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime to) {
+        log.info("GET: user request with id={} to view availability of a item with id={} from={} to={}",
+                userId, itemId, from, to);
+        return itemClient.getAvailability(itemId, userId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> createComment(@Valid @RequestBody CommentDto commentDto,
                                                 @RequestHeader(USER_HEADER) Long userId,
@@ -76,4 +125,20 @@ public class ItemController {
                 userId, itemId, commentDto);
         return itemClient.createComment(commentDto, userId, itemId);
     }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(@PathVariable @Positive @NotNull Long itemId,
+                                              @RequestHeader(USER_HEADER) Long userId,
+                                              @RequestParam(defaultValue = PAGE_SIZE_DEFAULT) @Min(1) Integer size,
+                                              @RequestParam(required = false)
+                                              @Pattern(regexp = CURSOR_PATTERN) String after) {
+        if (after != null) {
+            log.info("GET: user request with id={} to view comments on an item with id={}. Page after={}, " +
+                    "page size={}", userId, itemId, after, size);
+            return itemClient.getCommentsAfter(itemId, userId, after, size);
+        }
+        log.info("GET: user request with id={} to view comments on an item with id={}. Page size={}",
+                userId, itemId, size);
+        return itemClient.getComments(itemId, userId, size);
+    }
 }
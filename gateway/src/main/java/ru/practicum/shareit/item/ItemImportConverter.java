@@ -0,0 +1,194 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.config.Create;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportLineDto;
+
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.Constant.IMPORT_LINE_LENGTH_MAX;
+
+@Component
+@RequiredArgsConstructor
+public class ItemImportConverter {
+    private static final String FORMAT_CSV = "CSV";
+    private static final char CSV_SEPARATOR = ',';
+    private static final char CSV_QUOTE = '"';
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public void convert(String format, InputStream inputStream, OutputStream outputStream) throws IOException {
+        boolean csv = FORMAT_CSV.equals(format);
+        Reader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        Record record = new Record();
+        List<String> header = null;
+        long line = 1;
+        while (record.read(reader, csv)) {
+            long recordLine = line;
+            line += record.lines;
+            if (record.isBlank()) {
+                continue;
+            }
+            if (csv && header == null) {
+                header = parseCsv(record.text.toString()).stream()
+                        .map(column -> column == null ? "" : column.strip().toLowerCase(Locale.ROOT))
+                        .collect(Collectors.toList());
+                continue;
+            }
+            ItemImportLineDto importLine = record.tooLong
+                    ? new ItemImportLineDto(recordLine, null, "line: must not be longer than " +
+                    IMPORT_LINE_LENGTH_MAX + " characters")
+                    : toImportLine(recordLine, csv ? toItemDto(header, record.text.toString())
+                    : toItemDto(record.text.toString()));
+            writer.write(objectMapper.writeValueAsString(importLine));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private ItemImportLineDto toImportLine(long line, ItemImportLineDto parsed) {
+        if (parsed.getError() != null) {
+            return new ItemImportLineDto(line, null, parsed.getError());
+        }
+        ItemDto itemDto = parsed.getItem();
+        itemDto.setId(null);
+        String error = validator.validate(itemDto, Create.class).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        return error.isEmpty() ? new ItemImportLineDto(line, itemDto, null)
+                : new ItemImportLineDto(line, itemDto, error);
+    }
+
+    private ItemImportLineDto toItemDto(String json) {
+        try {
+            return new ItemImportLineDto(null, objectMapper.readValue(json, ItemDto.class), null);
+        } catch (JsonProcessingException e) {
+            return new ItemImportLineDto(null, null, "line: must be a JSON object");
+        }
+    }
+
+    private static ItemImportLineDto toItemDto(List<String> header, String text) {
+        List<String> values = parseCsv(text);
+        ItemDto itemDto = new ItemDto();
+        for (int i = 0; i < Math.min(header.size(), values.size()); i++) {
+            String value = values.get(i);
+            switch (header.get(i)) {
+                case "name":
+                    itemDto.setName(value);
+                    break;
+                case "description":
+                    itemDto.setDescription(value);
+                    break;
+                case "available":
+                    if (value != null && !value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                        return new ItemImportLineDto(null, null, "available: must be true or false");
+                    }
+                    itemDto.setAvailable(value == null ? null : Boolean.valueOf(value));
+                    break;
+                case "request_id":
+                    try {
+                        itemDto.setRequestId(value == null ? null : Long.valueOf(value.strip()));
+                    } catch (NumberFormatException e) {
+                        return new ItemImportLineDto(null, null, "request_id: must be a number");
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return new ItemImportLineDto(null, itemDto, null);
+    }
+
+    private static List<String> parseCsv(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != CSV_QUOTE) {
+                    value.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == CSV_QUOTE) {
+                    value.append(CSV_QUOTE);
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == CSV_QUOTE) {
+                quoted = true;
+            } else if (c == CSV_SEPARATOR) {
+                values.add(value.length() == 0 ? null : value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.length() == 0 ? null : value.toString());
+        return values;
+    }
+
+    private static class Record {
+        private final StringBuilder text = new StringBuilder();
+        private int lines;
+        private boolean tooLong;
+
+        private boolean read(Reader reader, boolean csv) throws IOException {
+            text.setLength(0);
+            lines = 0;
+            tooLong = false;
+            boolean quoted = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (c == '\n') {
+                    lines++;
+                    if (!quoted) {
+                        stripCarriageReturn();
+                        return true;
+                    }
+                }
+                if (csv && c == CSV_QUOTE) {
+                    quoted = !quoted;
+                }
+                if (text.length() < IMPORT_LINE_LENGTH_MAX) {
+                    text.append((char) c);
+                } else {
+                    tooLong = true;
+                }
+            }
+            stripCarriageReturn();
+            lines++;
+            return text.length() > 0;
+        }
+
+        private boolean isBlank() {
+            return !tooLong && text.toString().isBlank();
+        }
+
+        private void stripCarriageReturn() {
+            if (text.length() > 0 && text.charAt(text.length() - 1) == '\r') {
+                text.setLength(text.length() - 1);
+            }
+        }
+    }
+}
@@ -12,8 +12,11 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.Constant.FIXED_TIME;
@@ -140,4 +143,83 @@ public class BookingValidationTest {
                         .header(USER_HEADER, 1L))
                 .andExpect(status().is(400));
     }
-}
\ No newline at end of file
+
+    @DisplayName("Должно выброситься исключение пользователю при неверном формате курсора")
+    @Test
+    @SneakyThrows
+    public void shouldReturnExceptionBookerForInvalidCursor() {
+        mvc.perform(get("/bookings?after=2023-05-19,1")
+                        .header(USER_HEADER, 1L))
+                .andExpect(status().is(400));
+    }
+
+    @DisplayName("Должно выброситься исключение владельцу вещи при неверном формате курсора")
+    @Test
+    @SneakyThrows
+    public void shouldReturnExceptionOwnerForInvalidCursor() {
+        mvc.perform(get("/bookings/owner?after=2023-05-19T21:09:45")
+                        .header(USER_HEADER, 1L))
+                .andExpect(status().is(400));
+    }
+
+    @DisplayName("Не должен создать пакет бронирований, если одно из бронирований неверно")
+    @Test
+    @SneakyThrows
+    public void shouldNotCreateBookingsIfOneOfThemIsInvalid() {
+        List<BookingDtoCreate> bookingDtoCreates = List.of(
+                new BookingDtoCreate(1L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)),
+                new BookingDtoCreate(1L, FIXED_TIME.plusDays(2), FIXED_TIME.plusDays(1)));
+
+        mvc.perform(post("/bookings/batch")
+                        .content(mapper.writeValueAsString(bookingDtoCreates))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_HEADER, 1L))
+                .andExpect(status().is(400));
+    }
+
+    @DisplayName("Не должен создать пустой пакет бронирований")
+    @Test
+    @SneakyThrows
+    public void shouldNotCreateEmptyBookings() {
+        mvc.perform(post("/bookings/batch")
+                        .content("[]")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_HEADER, 1L))
+                .andExpect(status().is(400));
+    }
+
+    @DisplayName("Не должен обновить бронирования, если среди id есть некорректный")
+    @Test
+    @SneakyThrows
+    public void shouldNotUpdateBookingsWithInvalidId() {
+        mvc.perform(patch("/bookings/owner/status?approved=true")
+                        .content("[1, -2]")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_HEADER, 1L))
+                .andExpect(status().is(400));
+    }
+
+    @DisplayName("Не должен выгрузить бронирования в неизвестном формате")
+    @Test
+    @SneakyThrows
+    public void shouldNotExportBookingsInUnknownFormat() {
+        mvc.perform(get("/bookings/owner/export?format=XML")
+                        .header(USER_HEADER, 1L))
+                .andExpect(status().is(400));
+    }
+
+    @DisplayName("Не должен вернуть календарь занятости, если месяц задан в неверном формате")
+    @Test
+    @SneakyThrows
+    public void shouldNotGetCalendarWithInvalidMonth() {
+        mvc.perform(get("/bookings/owner/calendar?month=2030-13")
+                        .header(USER_HEADER, 1L))
+                .andExpect(status().is(400));
+    }
+}
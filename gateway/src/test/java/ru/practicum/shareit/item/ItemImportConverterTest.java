@@ -0,0 +1,78 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportLineDto;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static ru.practicum.shareit.Constant.IMPORT_LINE_LENGTH_MAX;
+
+public class ItemImportConverterTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ItemImportConverter converter;
+
+    @BeforeEach
+    public void setUp() {
+        converter = new ItemImportConverter(objectMapper, Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @DisplayName("Должен проверить каждую строку NDJSON и передать номер строки с вещью или ошибкой")
+    @Test
+    public void shouldConvertNdjsonLines() {
+        String input = "{\"id\":7,\"name\":\"saw\",\"description\":\"wood saw\",\"available\":true}\n" +
+                "\n" +
+                "{\"name\":\"\",\"description\":\"rake\",\"available\":true,\"requestId\":3}\r\n" +
+                "{\"name\":\"drill\"\n" +
+                "{\"name\":\"" + "a".repeat(IMPORT_LINE_LENGTH_MAX) + "\"}";
+
+        assertThat(convert("NDJSON", input), contains(
+                new ItemImportLineDto(1L, new ItemDto(null, "saw", "wood saw", true, null), null),
+                new ItemImportLineDto(3L, new ItemDto(null, "", "rake", true, 3L), "name: must not be blank"),
+                new ItemImportLineDto(4L, null, "line: must be a JSON object"),
+                new ItemImportLineDto(5L, null, "line: must not be longer than " + IMPORT_LINE_LENGTH_MAX +
+                        " characters")));
+    }
+
+    @DisplayName("Должен разобрать CSV с заголовком, кавычками и переводами строк внутри значений")
+    @Test
+    public void shouldConvertCsvLines() {
+        String input = "id,name,description,available,request_id\n" +
+                "1,\"saw, big\",\"\"\"sharp\"\"\nsaw\",true,\n" +
+                "2,rake,leaf rake,yes,\n" +
+                "3,hoe,garden hoe,false,x\n" +
+                "4,drill,,TRUE,5\n";
+
+        assertThat(convert("CSV", input), contains(
+                new ItemImportLineDto(2L, new ItemDto(null, "saw, big", "\"sharp\"\nsaw", true, null), null),
+                new ItemImportLineDto(4L, null, "available: must be true or false"),
+                new ItemImportLineDto(5L, null, "request_id: must be a number"),
+                new ItemImportLineDto(6L, new ItemDto(null, "drill", null, true, 5L),
+                        "description: must not be blank")));
+    }
+
+    @SneakyThrows
+    private List<ItemImportLineDto> convert(String format, String input) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        converter.convert(format, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8).lines()
+                .map(this::readLine)
+                .collect(Collectors.toList());
+    }
+
+    @SneakyThrows
+    private ItemImportLineDto readLine(String line) {
+        return objectMapper.readValue(line, ItemImportLineDto.class);
+    }
+}
@@ -5,11 +5,18 @@ import java.time.format.DateTimeFormatter;
 
 public class Constant {
     public static final String HEADER_USER = "X-Sharer-User-Id";
+    public static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
     public static final String STATE_DEFAULT = "ALL";
     public static final String PAGE_FROM_DEFAULT = "0";
     public static final String PAGE_SIZE_DEFAULT = "10";
-    public static final String NEXT = "next";
-    public static final String LAST = "last";
+    public static final String SUGGEST_LIMIT_DEFAULT = "5";
+    public static final int SUGGEST_LIMIT_MAX = 10;
+    public static final String EXPORT_FORMAT_DEFAULT = "NDJSON";
+    public static final int EXPORT_FETCH_SIZE = 500;
+    public static final int ITEM_COMMENTS_LIMIT = 10;
+    public static final int ITEM_IMPORT_CHUNK_SIZE = 500;
+    public static final int ITEM_IMPORT_ERRORS_MAX = 100;
+    public static final String MONTH_PATTERN = "yyyy-MM";
     public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
     public static final LocalDateTime FIXED_TIME = LocalDateTime.parse("2023-05-19T21:09:45", DATE_FORMAT);
 }
@@ -1,13 +1,24 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.booking.dto.ItemOccupancyDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.export.ExportFormat;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
+import java.time.YearMonth;
 import java.util.Collection;
+import java.util.List;
 
 import static ru.practicum.shareit.Constant.*;
 
@@ -24,6 +35,12 @@ public class BookingController {
         return bookingService.createBooking(bookingDtoCreate, userId);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createBookings(@RequestBody List<BookingDtoCreate> bookingDtoCreates,
+                                                      @RequestHeader(HEADER_USER) Long userId) {
+        return bookingService.createBookings(bookingDtoCreates, userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto updateBooking(@RequestHeader(HEADER_USER) Long userId,
                                     @PathVariable Long bookingId,
@@ -31,6 +48,13 @@ public class BookingController {
         return bookingService.updateBooking(userId, bookingId, approved);
     }
 
+    @PatchMapping("/owner/status")
+    public Collection<BookingDto> updateBookings(@RequestHeader(HEADER_USER) Long userId,
+                                                 @RequestBody List<Long> bookingIds,
+                                                 @RequestParam Boolean approved) {
+        return bookingService.updateBookings(userId, bookingIds, approved);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getOneBookingUser(@PathVariable Long bookingId,
                                         @RequestHeader(HEADER_USER) Long userId) {
@@ -38,18 +62,71 @@ public class BookingController {
     }
 
     @GetMapping
-    public Collection<BookingDto> getAllBookingsBooker(@RequestHeader(HEADER_USER) Long userId,
-                                                       @RequestParam(defaultValue = STATE_DEFAULT) String state,
-                                                       @RequestParam(defaultValue = PAGE_FROM_DEFAULT) Integer from,
-                                                       @RequestParam(defaultValue = PAGE_SIZE_DEFAULT) Integer size) {
-        return bookingService.getAllBookingsBooker(userId, BookingState.valueOf(state), from, size);
+    public ResponseEntity<Collection<BookingDto>> getAllBookingsBooker(@RequestHeader(HEADER_USER) Long userId,
+                                                                       @RequestParam(defaultValue = STATE_DEFAULT)
+                                                                       String state,
+                                                                       @RequestParam(defaultValue = PAGE_FROM_DEFAULT)
+                                                                       Integer from,
+                                                                       @RequestParam(defaultValue = PAGE_SIZE_DEFAULT)
+                                                                       Integer size,
+                                                                       @RequestParam(required = false) String after) {
+        BookingState bookingState = BookingState.valueOf(state);
+        Collection<BookingDto> bookings = after == null
+                ? bookingService.getAllBookingsBooker(userId, bookingState, from, size)
+                : bookingService.getAllBookingsBookerAfter(userId, bookingState, KeysetCursor.parse(after), size);
+        return withNextCursor(bookings, size);
     }
 
     @GetMapping("/owner")
-    public Collection<BookingDto> getAllBookingsOwner(@RequestHeader(HEADER_USER) Long userId,
-                                                      @RequestParam(defaultValue = STATE_DEFAULT) String state,
-                                                      @RequestParam(defaultValue = PAGE_FROM_DEFAULT) Integer from,
-                                                      @RequestParam(defaultValue = PAGE_SIZE_DEFAULT) Integer size) {
-        return bookingService.getAllBookingsOwner(userId, BookingState.valueOf(state), from, size);
+    public ResponseEntity<Collection<BookingDto>> getAllBookingsOwner(@RequestHeader(HEADER_USER) Long userId,
+                                                                      @RequestParam(defaultValue = STATE_DEFAULT)
+                                                                      String state,
+                                                                      @RequestParam(defaultValue = PAGE_FROM_DEFAULT)
+                                                                      Integer from,
+                                                                      @RequestParam(defaultValue = PAGE_SIZE_DEFAULT)
+                                                                      Integer size,
+                                                                      @RequestParam(required = false) String after) {
+        BookingState bookingState = BookingState.valueOf(state);
+        Collection<BookingDto> bookings = after == null
+                ? bookingService.getAllBookingsOwner(userId, bookingState, from, size)
+                : bookingService.getAllBookingsOwnerAfter(userId, bookingState, KeysetCursor.parse(after), size);
+        return withNextCursor(bookings, size);
+    }
+
+    @GetMapping("/counts")
+    public BookingCountsDto getBookingCountsBooker(@RequestHeader(HEADER_USER) Long userId) {
+        return bookingService.getBookingCountsBooker(userId);
+    }
+
+    @GetMapping("/owner/counts")
+    public BookingCountsDto getBookingCountsOwner(@RequestHeader(HEADER_USER) Long userId) {
+        return bookingService.getBookingCountsOwner(userId);
+    }
+
+    @GetMapping("/owner/calendar")
+    public List<ItemOccupancyDto> getCalendarOwner(@RequestHeader(HEADER_USER) Long userId,
+                                                   @RequestParam @DateTimeFormat(pattern = MONTH_PATTERN)
+                                                   YearMonth month) {
+        return bookingService.getCalendarOwner(userId, month);
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsOwner(@RequestHeader(HEADER_USER) Long userId,
+                                                                     @RequestParam(defaultValue = EXPORT_FORMAT_DEFAULT)
+                                                                     String format) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, exportFormat.getContentDisposition("bookings"))
+                .body(outputStream -> bookingService.exportBookingsOwner(userId, exportFormat, outputStream));
+    }
+
+    private ResponseEntity<Collection<BookingDto>> withNextCursor(Collection<BookingDto> bookings, Integer size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookings.size() == size) {
+            BookingDto last = List.copyOf(bookings).get(bookings.size() - 1);
+            response.header(HEADER_NEXT_CURSOR, KeysetCursor.of(last.getStart(), last.getId()).format());
+        }
+        return response.body(bookings);
     }
 }
@@ -1,57 +1,257 @@
 package ru.practicum.shareit.booking;
 
+import org.hibernate.LockOptions;
+import org.hibernate.cfg.AvailableSettings;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.availability.BookedInterval;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingInfoView;
 import ru.practicum.shareit.booking.model.Booking;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    @Query("SELECT b FROM Booking b WHERE b.id = :bookingId AND (b.booker.id = :userId OR b.item.owner.id = :userId)")
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static ru.practicum.shareit.Constant.EXPORT_FETCH_SIZE;
+
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingBatchRepository {
+    String SELECT_BOOKING_DTO = "SELECT new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, " +
+            "b.status, u.id, u.name, u.email, i.id, i.name, i.description, i.available, i.request.id) " +
+            "FROM Booking b JOIN b.item i JOIN b.booker u ";
+    String SELECT_BOOKING_COUNTS = "SELECT new ru.practicum.shareit.booking.dto.BookingCountsDto(COUNT(b), " +
+            "COALESCE(SUM(CASE WHEN b.start < :current AND b.end > :current THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN b.end < :current THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN b.start > :current THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN b.status = ru.practicum.shareit.booking.BookingStatus.WAITING " +
+            "THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN b.status = ru.practicum.shareit.booking.BookingStatus.REJECTED " +
+            "THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN b.status = ru.practicum.shareit.booking.BookingStatus.EXPIRED " +
+            "THEN 1 ELSE 0 END), 0)) ";
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker " +
+            "WHERE b.id = :bookingId AND (b.booker.id = :userId OR i.owner.id = :userId)")
     Optional<Booking> findBookingByIdAndUser(@Param("bookingId") Long bookingId, @Param("userId") Long userId);
 
-    List<Booking> findAllByItem_Owner_Id(Long userId, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :bookingId")
+    Optional<Booking> findByIdForUpdate(@Param("bookingId") Long bookingId);
+
+    @Query("SELECT b.item.id FROM Booking b WHERE b.id = :bookingId")
+    Optional<Long> findItemIdById(@Param("bookingId") Long bookingId);
+
+    @Query("SELECT b.id FROM Booking b JOIN b.item i " +
+            "WHERE (b.booker.id = :userId OR i.owner.id = :userId) AND b.status IN :statuses")
+    List<Long> findIdsByBookerOrOwnerAndStatusIn(@Param("userId") Long userId,
+                                                 @Param("statuses") Collection<BookingStatus> statuses);
+
+    @Query("SELECT DISTINCT b.item.id FROM Booking b WHERE b.id IN :bookingIds AND b.item.owner.id = :userId")
+    List<Long> findItemIdsByIdInAndOwner(@Param("bookingIds") Collection<Long> bookingIds,
+                                         @Param("userId") Long userId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker " +
+            "WHERE i.owner.id = :userId ORDER BY b.start DESC, b.id DESC")
+    Stream<Booking> streamAllByOwner(@Param("userId") Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker " +
+            "WHERE b.id IN :bookingIds AND b.status = :status AND i.owner.id = :userId " +
+            "ORDER BY b.id")
+    List<Booking> findAllByIdInAndStatusAndOwnerForUpdate(@Param("bookingIds") Collection<Long> bookingIds,
+                                                          @Param("status") BookingStatus status,
+                                                          @Param("userId") Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JPA_LOCK_TIMEOUT, value = "" + LockOptions.SKIP_LOCKED))
+    @Query("SELECT b.id FROM Booking b WHERE b.status = :status AND b.start < :current ORDER BY b.start, b.id")
+    List<Long> findIdsByStatusAndStartBeforeForUpdate(@Param("status") BookingStatus status,
+                                                      @Param("current") LocalDateTime current,
+                                                      Pageable pageable);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker WHERE b.id IN :bookingIds ORDER BY b.id")
+    List<Booking> findAllWithItemAndBookerByIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status WHERE b.id IN :bookingIds AND b.status = :currentStatus")
+    int updateStatusByIdIn(@Param("bookingIds") Collection<Long> bookingIds,
+                           @Param("currentStatus") BookingStatus currentStatus,
+                           @Param("status") BookingStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status WHERE b.id IN :bookingIds AND b.status = :currentStatus " +
+            "AND b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :userId)")
+    int updateStatusByIdInAndOwner(@Param("bookingIds") Collection<Long> bookingIds,
+                                   @Param("currentStatus") BookingStatus currentStatus,
+                                   @Param("status") BookingStatus status,
+                                   @Param("userId") Long userId);
+
+    @Query(SELECT_BOOKING_DTO + "WHERE i.owner.id = :userId")
+    List<BookingDto> findAllByItem_Owner_Id(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SELECT_BOOKING_DTO + "WHERE i.owner.id = :userId AND b.status = :status")
+    List<BookingDto> findAllByItem_Owner_IdAndStatus(@Param("userId") Long userId,
+                                                     @Param("status") BookingStatus status,
+                                                     Pageable pageable);
+
+    @Query(SELECT_BOOKING_DTO + "WHERE i.owner.id = :userId AND b.end < :current")
+    List<BookingDto> findAllByItem_Owner_IdAndEndBefore(@Param("userId") Long userId,
+                                                        @Param("current") LocalDateTime current, Pageable pageable);
+
+    @Query(SELECT_BOOKING_DTO + "WHERE i.owner.id = :userId AND b.start > :current")
+    List<BookingDto> findAllByItem_Owner_IdAndStartAfter(@Param("userId") Long userId,
+                                                         @Param("current") LocalDateTime current, Pageable pageable);
+
+    @Query(SELECT_BOOKING_DTO + "WHERE i.owner.id = :userId AND b.start < :current AND b.end > :currentDuplicate")
+    List<BookingDto> findAllByItem_Owner_IdAndStartBeforeAndEndAfter(@Param("userId") Long userId,
+                                                                     @Param("current") LocalDateTime current,
+                                                                     @Param("currentDuplicate")
+                                                                     LocalDateTime currentDuplicate,
+                                                                     Pageable pageable);
+
+    @Query(SELECT_BOOKING_DTO + "WHERE b.booker.id = :userId")
+    List<BookingDto> findAllByBooker_Id(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SELECT_BOOKING_DTO + "WHERE b.booker.id = :userId AND b.status = :status")
+    List<BookingDto> findAllByBooker_IdAndStatus(@Param("userId") Long userId, @Param("status") BookingStatus status,
+                                                 Pageable pageable);
+
+    @Query(SELECT_BOOKING_DTO + "WHERE b.booker.id = :userId AND b.end < :current")
+    List<BookingDto> findAllByBooker_IdAndEndBefore(@Param("userId") Long userId,
+                                                    @Param("current") LocalDateTime current, Pageable pageable);
+
+    @Query(SELECT_BOOKING_DTO + "WHERE b.booker.id = :userId AND b.start > :current")
+    List<BookingDto> findAllByBooker_IdAndStartAfter(@Param("userId") Long userId,
+                                                     @Param("current") LocalDateTime current, Pageable pageable);
+
+    @Query(SELECT_BOOKING_DTO + "WHERE b.booker.id = :userId AND b.start < :current AND b.end > :currentDuplicate")
+    List<BookingDto> findAllByBooker_IdAndStartBeforeAndEndAfter(@Param("userId") Long userId,
+                                                                 @Param("current") LocalDateTime current,
+                                                                 @Param("currentDuplicate")
+                                                                 LocalDateTime currentDuplicate,
+                                                                 Pageable pageable);
+
+    @Query(SELECT_BOOKING_DTO + "WHERE i.owner.id = :userId " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingDto> findAllByOwnerAfter(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+                                         @Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_BOOKING_DTO + "WHERE i.owner.id = :userId AND b.status = :status " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingDto> findAllByOwnerAndStatusAfter(@Param("userId") Long userId, @Param("status") BookingStatus status,
+                                                  @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                  Pageable pageable);
+
+    @Query(SELECT_BOOKING_DTO + "WHERE i.owner.id = :userId AND b.end < :current " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingDto> findAllByOwnerAndEndBeforeAfter(@Param("userId") Long userId,
+                                                     @Param("current") LocalDateTime current,
+                                                     @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                     Pageable pageable);
+
+    @Query(SELECT_BOOKING_DTO + "WHERE i.owner.id = :userId AND b.start > :current " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingDto> findAllByOwnerAndStartAfterAfter(@Param("userId") Long userId,
+                                                      @Param("current") LocalDateTime current,
+                                                      @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                      Pageable pageable);
+
+    @Query(SELECT_BOOKING_DTO + "WHERE i.owner.id = :userId AND b.start < :current AND b.end > :current " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingDto> findAllByOwnerAndCurrentAfter(@Param("userId") Long userId,
+                                                   @Param("current") LocalDateTime current,
+                                                   @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                   Pageable pageable);
 
-    List<Booking> findAllByItem_Owner_IdAndStatus(Long userId, BookingStatus status, Pageable pageable);
+    @Query(SELECT_BOOKING_DTO + "WHERE b.booker.id = :userId " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingDto> findAllByBookerAfter(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+                                          @Param("id") Long id, Pageable pageable);
 
-    List<Booking> findAllByItem_Owner_IdAndEndBefore(Long userId, LocalDateTime current, Pageable pageable);
+    @Query(SELECT_BOOKING_DTO + "WHERE b.booker.id = :userId AND b.status = :status " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingDto> findAllByBookerAndStatusAfter(@Param("userId") Long userId, @Param("status") BookingStatus status,
+                                                   @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                   Pageable pageable);
 
-    List<Booking> findAllByItem_Owner_IdAndStartAfter(Long userId, LocalDateTime current, Pageable pageable);
+    @Query(SELECT_BOOKING_DTO + "WHERE b.booker.id = :userId AND b.end < :current " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingDto> findAllByBookerAndEndBeforeAfter(@Param("userId") Long userId,
+                                                      @Param("current") LocalDateTime current,
+                                                      @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                      Pageable pageable);
 
-    List<Booking> findAllByItem_Owner_IdAndStartBeforeAndEndAfter(Long userId, LocalDateTime current,
-                                                                  LocalDateTime currentDuplicate, Pageable pageable);
+    @Query(SELECT_BOOKING_DTO + "WHERE b.booker.id = :userId AND b.start > :current " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingDto> findAllByBookerAndStartAfterAfter(@Param("userId") Long userId,
+                                                       @Param("current") LocalDateTime current,
+                                                       @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                       Pageable pageable);
 
-    List<Booking> findAllByBooker_Id(Long userId, Pageable pageable);
+    @Query(SELECT_BOOKING_DTO + "WHERE b.booker.id = :userId AND b.start < :current AND b.end > :current " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingDto> findAllByBookerAndCurrentAfter(@Param("userId") Long userId,
+                                                    @Param("current") LocalDateTime current,
+                                                    @Param("start") LocalDateTime start, @Param("id") Long id,
+                                                    Pageable pageable);
 
-    List<Booking> findAllByBooker_IdAndStatus(Long userId, BookingStatus status, Pageable pageable);
+    @Query(SELECT_BOOKING_COUNTS + "FROM Booking b WHERE b.booker.id = :userId")
+    BookingCountsDto countStatesByBooker(@Param("userId") Long userId, @Param("current") LocalDateTime current);
 
-    List<Booking> findAllByBooker_IdAndEndBefore(Long userId, LocalDateTime current, Pageable pageable);
+    @Query(SELECT_BOOKING_COUNTS + "FROM Booking b JOIN b.item i WHERE i.owner.id = :userId")
+    BookingCountsDto countStatesByOwner(@Param("userId") Long userId, @Param("current") LocalDateTime current);
 
-    List<Booking> findAllByBooker_IdAndStartAfter(Long userId, LocalDateTime current, Pageable pageable);
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN TRUE ELSE FALSE END FROM Booking b " +
+            "WHERE b.item.id = :itemId AND b.booker.id = :bookerId AND b.status = :status AND b.end < :current")
+    boolean existsByItemIdAndBookerIdAndStatusAndEndBefore(@Param("itemId") Long itemId,
+                                                           @Param("bookerId") Long bookerId,
+                                                           @Param("status") BookingStatus status,
+                                                           @Param("current") LocalDateTime current);
 
-    List<Booking> findAllByBooker_IdAndStartBeforeAndEndAfter(Long userId, LocalDateTime current,
-                                                              LocalDateTime currentDuplicate, Pageable pageable);
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN TRUE ELSE FALSE END FROM Booking b " +
+            "WHERE b.item.id = :itemId AND b.status = :status AND b.start < :end AND b.end > :start")
+    boolean existsOverlapping(@Param("itemId") Long itemId, @Param("status") BookingStatus status,
+                              @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
-    @Query("SELECT b FROM Booking b WHERE b.id IN " +
-            "(SELECT b2.id FROM Booking b2 WHERE b2.item.id IN :itemIds AND b2.start >= :current " +
-            "AND b2.start = (SELECT MIN(b3.start) " +
-            "FROM Booking b3 WHERE b3.item.id = b2.item.id AND b3.start >= :current AND b.status = :status))")
-    List<Booking> findNextBookingsForOwner(@Param("current") LocalDateTime current,
-                                           @Param("itemIds") List<Long> itemIds,
-                                           @Param("status") BookingStatus status);
+    @Query("SELECT b.id AS id, b.booker.id AS bookerId, b.start AS timeStart, b.end AS timeEnd, " +
+            "b.status AS status, i.id AS itemId FROM Booking b JOIN b.item i " +
+            "WHERE i.owner.id = :userId AND b.status IN :statuses AND b.start < :to AND b.end > :from")
+    List<BookingInfoView> findAllByOwnerAndStatusInOverlapping(@Param("userId") Long userId,
+                                                              @Param("statuses") Collection<BookingStatus> statuses,
+                                                              @Param("from") LocalDateTime from,
+                                                              @Param("to") LocalDateTime to);
 
-    @Query("SELECT b FROM Booking b WHERE b.id IN " +
-            "(SELECT b2.id FROM Booking b2 WHERE b2.item.id IN :itemIds AND b2.start <= :current " +
-            "AND b2.start = (SELECT MAX(b3.start) " +
-            "FROM Booking b3 WHERE b3.item.id = b2.item.id AND b3.start <= :current AND b.status = :status))")
-    List<Booking> findLastBookingsForOwner(@Param("current") LocalDateTime current,
-                                           @Param("itemIds") List<Long> itemIds,
-                                           @Param("status") BookingStatus status);
+    @Query("SELECT new ru.practicum.shareit.booking.availability.BookedInterval(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking b WHERE b.status IN :statuses AND b.end > :current")
+    List<BookedInterval> findAllIntervalsByStatusInAndEndAfter(@Param("statuses") Collection<BookingStatus> statuses,
+                                                               @Param("current") LocalDateTime current);
 
-    boolean existsByItemIdAndBookerIdAndStatusAndEndBefore(Long itemId, Long bookerId,
-                                                           BookingStatus status, LocalDateTime current);
+    @Query("SELECT new ru.practicum.shareit.booking.availability.BookedInterval(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking b WHERE b.item.id IN :itemIds AND b.status = :status AND b.start < :end AND b.end > :start")
+    List<BookedInterval> findAllIntervalsOverlapping(@Param("itemIds") Collection<Long> itemIds,
+                                                     @Param("status") BookingStatus status,
+                                                     @Param("start") LocalDateTime start,
+                                                     @Param("end") LocalDateTime end);
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class BookedInterval {
+    private final Long bookingId;
+    private final Long itemId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+}
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.BookingStatus.WAITING;
+import static ru.practicum.shareit.transaction.TransactionCallbacks.afterCommit;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingAvailability {
+    private final BookingRepository bookingRepository;
+    private final Map<Long, ItemSchedule> schedules = new ConcurrentHashMap<>();
+    private final Map<Long, BookedInterval> intervals = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<BookedInterval> booked = bookingRepository
+                .findAllIntervalsByStatusInAndEndAfter(List.of(APPROVED, WAITING), LocalDateTime.now());
+        booked.forEach(this::add);
+        log.info("Availability loaded for {} bookings of {} items", booked.size(), schedules.size());
+    }
+
+    public void addAfterCommit(Booking booking) {
+        BookedInterval interval = new BookedInterval(booking.getId(), booking.getItem().getId(),
+                booking.getStart(), booking.getEnd());
+        afterCommit(() -> add(interval));
+    }
+
+    public void removeAfterCommit(Long bookingId) {
+        afterCommit(() -> remove(bookingId));
+    }
+
+    public void removeAllAfterCommit(Collection<Long> bookingIds) {
+        if (!bookingIds.isEmpty()) {
+            afterCommit(() -> bookingIds.forEach(this::remove));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.availability.eviction-interval}",
+            initialDelayString = "${shareit.booking.availability.eviction-interval}")
+    public void evictEnded() {
+        int evicted = evictEndedBefore(LocalDateTime.now());
+        if (evicted > 0) {
+            log.info("{} ended bookings were evicted from availability", evicted);
+        }
+    }
+
+    public int evictEndedBefore(LocalDateTime current) {
+        int evicted = 0;
+        for (BookedInterval interval : intervals.values()) {
+            if (interval.getEnd().isBefore(current) && intervals.remove(interval.getBookingId(), interval)) {
+                removeFromSchedule(interval);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        return intervals.size();
+    }
+
+    public int getScheduledItemCount() {
+        return schedules.size();
+    }
+
+    public List<TimeSlotDto> getFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        ItemSchedule schedule = schedules.get(itemId);
+        List<BookedInterval> booked = schedule == null ? List.of() : schedule.findOverlapping(from, to);
+
+        List<TimeSlotDto> freeSlots = new ArrayList<>();
+        LocalDateTime freeFrom = from;
+        for (BookedInterval interval : booked) {
+            if (interval.getStart().isAfter(freeFrom)) {
+                freeSlots.add(new TimeSlotDto(freeFrom, interval.getStart()));
+            }
+            if (interval.getEnd().isAfter(freeFrom)) {
+                freeFrom = interval.getEnd();
+            }
+        }
+        if (freeFrom.isBefore(to)) {
+            freeSlots.add(new TimeSlotDto(freeFrom, to));
+        }
+        return freeSlots;
+    }
+
+    private void add(BookedInterval interval) {
+        if (intervals.putIfAbsent(interval.getBookingId(), interval) == null) {
+            schedules.compute(interval.getItemId(), (itemId, schedule) -> {
+                ItemSchedule updated = schedule == null ? new ItemSchedule() : schedule;
+                updated.insert(interval);
+                return updated;
+            });
+        }
+    }
+
+    private void remove(Long bookingId) {
+        BookedInterval interval = intervals.remove(bookingId);
+        if (interval != null) {
+            removeFromSchedule(interval);
+        }
+    }
+
+    private void removeFromSchedule(BookedInterval interval) {
+        schedules.computeIfPresent(interval.getItemId(), (itemId, schedule) -> {
+            schedule.remove(interval);
+            return schedule.isEmpty() ? null : schedule;
+        });
+    }
+
+    private static class ItemSchedule {
+        private final IntervalTree tree = new IntervalTree();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private void insert(BookedInterval interval) {
+            lock.writeLock().lock();
+            try {
+                tree.insert(interval);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void remove(BookedInterval interval) {
+            lock.writeLock().lock();
+            try {
+                tree.remove(interval);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private boolean isEmpty() {
+            lock.readLock().lock();
+            try {
+                return tree.size() == 0;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private List<BookedInterval> findOverlapping(LocalDateTime from, LocalDateTime to) {
+            lock.readLock().lock();
+            try {
+                return tree.findOverlapping(from, to);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class IntervalTree {
+    private static final Comparator<BookedInterval> ORDER = Comparator.comparing(BookedInterval::getStart)
+            .thenComparing(BookedInterval::getBookingId);
+
+    private Node root;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public void insert(BookedInterval interval) {
+        root = insert(root, interval);
+    }
+
+    public void remove(BookedInterval interval) {
+        root = remove(root, interval);
+    }
+
+    public List<BookedInterval> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        List<BookedInterval> result = new ArrayList<>();
+        collectOverlapping(root, from, to, result);
+        return result;
+    }
+
+    private Node insert(Node node, BookedInterval interval) {
+        if (node == null) {
+            size++;
+            return new Node(interval);
+        }
+        int compare = ORDER.compare(interval, node.interval);
+        if (compare < 0) {
+            node.left = insert(node.left, interval);
+        } else if (compare > 0) {
+            node.right = insert(node.right, interval);
+        } else {
+            node.interval = interval;
+        }
+        return balance(node);
+    }
+
+    private Node remove(Node node, BookedInterval interval) {
+        if (node == null) {
+            return null;
+        }
+        int compare = ORDER.compare(interval, node.interval);
+        if (compare < 0) {
+            node.left = remove(node.left, interval);
+        } else if (compare > 0) {
+            node.right = remove(node.right, interval);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.interval = successor.interval;
+            size++;
+            node.right = remove(node.right, successor.interval);
+        }
+        return balance(node);
+    }
+
+    private void collectOverlapping(Node node, LocalDateTime from, LocalDateTime to, List<BookedInterval> result) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return;
+        }
+        collectOverlapping(node.left, from, to, result);
+        if (!node.interval.getStart().isBefore(to)) {
+            return;
+        }
+        if (node.interval.getEnd().isAfter(from)) {
+            result.add(node.interval);
+        }
+        collectOverlapping(node.right, from, to, result);
+    }
+
+    private Node balance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private void update(Node node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        node.maxEnd = node.interval.getEnd();
+        if (node.left != null && node.left.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.right.maxEnd;
+        }
+    }
+
+    private int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static class Node {
+        private BookedInterval interval;
+        private LocalDateTime maxEnd;
+        private int height;
+        private Node left;
+        private Node right;
+
+        private Node(BookedInterval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.getEnd();
+            this.height = 1;
+        }
+    }
+}
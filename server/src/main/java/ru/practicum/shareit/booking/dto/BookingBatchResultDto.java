@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@ToString
+@Builder
+@EqualsAndHashCode
+public class BookingBatchResultDto {
+    private Integer index;
+    private BookingDto booking;
+    private String error;
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+public interface BookingInfoView {
+    Long getId();
+
+    Long getBookerId();
+
+    LocalDateTime getTimeStart();
+
+    LocalDateTime getTimeEnd();
+
+    BookingStatus getStatus();
+
+    Long getItemId();
+}
@@ -9,8 +9,6 @@ import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.Collection;
-import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.BookingStatus.WAITING;
@@ -47,26 +45,4 @@ public class BookingMapper {
                 .status(WAITING)
                 .build();
     }
-
-    public BookingDtoInfo toBookingDtoInfo(Booking booking) {
-        return BookingDtoInfo.builder()
-                .id(booking.getId())
-                .bookerId(booking.getBooker().getId())
-                .start(booking.getStart())
-                .end(booking.getEnd())
-                .status(booking.getStatus())
-                .itemId(booking.getItem().getId())
-                .build();
-    }
-
-    public List<BookingDtoInfo> toBookingDtoInfoList(List<Booking> bookings) {
-        return bookings.stream()
-                .map(this::toBookingDtoInfo)
-                .collect(Collectors.toList());
-    }
-
-    public Map<Long, BookingDtoInfo> toBookingDtoInfoMapByIdItem(List<BookingDtoInfo> booking) {
-        return booking.stream().collect(Collectors.toMap(
-                BookingDtoInfo::getItemId, bookingDtoInfo -> bookingDtoInfo));
-    }
 }
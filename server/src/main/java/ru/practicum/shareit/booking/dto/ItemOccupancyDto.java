@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@ToString
+@Builder
+@EqualsAndHashCode
+public class ItemOccupancyDto {
+    private Long itemId;
+    private Long approvedDays;
+    private Long waitingDays;
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@ToString
+@Builder
+@EqualsAndHashCode
+public class TimeSlotDto {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
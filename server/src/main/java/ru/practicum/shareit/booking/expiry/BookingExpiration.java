@@ -0,0 +1,65 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.LocalDateTime;
+
+@Component
+@ConditionalOnProperty(name = "shareit.booking.expiry.enabled", havingValue = "true")
+@Slf4j
+public class BookingExpiration {
+    private final BookingService bookingService;
+    private final int chunkSize;
+    private final Counter expiredCounter;
+    private final Counter chunkCounter;
+    private final Timer runTimer;
+
+    public BookingExpiration(BookingService bookingService, MeterRegistry meterRegistry,
+                             @Value("${shareit.booking.expiry.chunk-size}") int chunkSize) {
+        this.bookingService = bookingService;
+        this.chunkSize = chunkSize;
+        this.expiredCounter = Counter.builder("shareit.booking.expiry.expired")
+                .description("Waiting bookings moved to EXPIRED after their start passed")
+                .register(meterRegistry);
+        this.chunkCounter = Counter.builder("shareit.booking.expiry.chunks")
+                .description("Expiry chunks committed")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("shareit.booking.expiry.run")
+                .description("Duration of one expiry run over all stale waiting bookings")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.expiry.interval}",
+            initialDelayString = "${shareit.booking.expiry.interval}")
+    public void expire() {
+        try {
+            runTimer.record(() -> expireStartedBefore(LocalDateTime.now()));
+        } catch (DataAccessException e) {
+            log.warn("Booking expiry failed: {}", e.getMessage());
+        }
+    }
+
+    public long expireStartedBefore(LocalDateTime current) {
+        long total = 0;
+        int expired;
+        do {
+            expired = bookingService.expireBookings(current, chunkSize);
+            total += expired;
+            expiredCounter.increment(expired);
+            chunkCounter.increment();
+        } while (expired == chunkSize);
+        if (total > 0) {
+            log.info("Booking expiry run finished: {} bookings started before {} expired", total, current);
+        }
+        return total;
+    }
+}
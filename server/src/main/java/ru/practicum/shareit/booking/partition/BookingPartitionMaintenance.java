@@ -0,0 +1,115 @@
+package ru.practicum.shareit.booking.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.pointer.BookingPointers;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.booking.partition.BookingPartitionPlan.getName;
+
+@Component
+@ConditionalOnProperty(name = "spring.sql.init.platform", havingValue = "postgresql")
+@Slf4j
+public class BookingPartitionMaintenance {
+    private static final String ARCHIVE_SCHEMA = "booking_archive";
+    private static final String SELECT_ATTACHED = "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'booking'::regclass";
+    private static final String SELECT_DEFAULT_MONTHS =
+            "SELECT DISTINCT CAST(date_trunc('month', time_start) AS DATE) FROM booking_default";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingPointers bookingPointers;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public BookingPartitionMaintenance(JdbcTemplate jdbcTemplate, BookingPointers bookingPointers,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${shareit.booking.partitions.months-ahead}") int monthsAhead,
+                                       @Value("${shareit.booking.partitions.retention-months}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bookingPointers = bookingPointers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${shareit.booking.partitions.cron}")
+    public void maintain() {
+        List<YearMonth> attached = jdbcTemplate.queryForList(SELECT_ATTACHED, String.class).stream()
+                .map(BookingPartitionPlan::parseName)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+        List<YearMonth> inDefault = jdbcTemplate.queryForList(SELECT_DEFAULT_MONTHS, LocalDate.class).stream()
+                .map(YearMonth::from)
+                .collect(Collectors.toList());
+        BookingPartitionPlan plan = BookingPartitionPlan.of(YearMonth.now(), attached, inDefault,
+                monthsAhead, retentionMonths);
+
+        plan.getToCreate().forEach(month -> inTransaction(month, this::create));
+        plan.getToDetach().forEach(month -> inTransaction(month, this::detach));
+        log.info("Booking partitions maintained: {} attached, created {}, detached {}", attached.size(),
+                plan.getToCreate(), plan.getToDetach());
+    }
+
+    private void create(YearMonth month) {
+        String name = getName(month);
+        if (exists(name)) {
+            return;
+        }
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        jdbcTemplate.execute("LOCK TABLE booking_default IN SHARE ROW EXCLUSIVE MODE");
+        jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE booking INCLUDING DEFAULTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM booking_default " +
+                "WHERE time_start >= ? AND time_start < ? RETURNING *) " +
+                "INSERT INTO " + name + " SELECT * FROM moved", from, to);
+        jdbcTemplate.execute("ALTER TABLE booking ATTACH PARTITION " + name +
+                " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        jdbcTemplate.execute("ALTER TABLE " + name + " ADD CONSTRAINT ex_" + name + "_item_approved " +
+                "EXCLUDE USING gist (item_id WITH =, tsrange(time_start, time_end) WITH &&) " +
+                "WHERE (status = 'APPROVED')");
+        log.info("Booking partition {} created, {} bookings moved from the default partition", name, moved);
+    }
+
+    private void detach(YearMonth month) {
+        String name = getName(month);
+        if (!exists(name)) {
+            return;
+        }
+        bookingPointers.clearLastBefore(month.plusMonths(1).atDay(1).atStartOfDay());
+        jdbcTemplate.execute("ALTER TABLE booking DETACH PARTITION " + name);
+        jdbcTemplate.execute("ALTER TABLE " + name + " SET SCHEMA " + ARCHIVE_SCHEMA);
+        log.info("Booking partition {} detached to the schema {}", name, ARCHIVE_SCHEMA);
+    }
+
+    private boolean exists(String name) {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(hashtext(?))", name);
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL",
+                Boolean.class, name));
+    }
+
+    private void inTransaction(YearMonth month, Consumer<YearMonth> action) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> action.accept(month));
+        } catch (DataAccessException e) {
+            log.warn("Booking partition {} maintenance failed: {}", getName(month), e.getMessage());
+        }
+    }
+}
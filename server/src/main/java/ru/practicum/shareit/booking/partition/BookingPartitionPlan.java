@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking.partition;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Getter
+@AllArgsConstructor
+public class BookingPartitionPlan {
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("'booking_p'uuuu_MM");
+    private static final Pattern NAME_PATTERN = Pattern.compile("booking_p(\\d{4})_(\\d{2})");
+
+    private final List<YearMonth> toCreate;
+    private final List<YearMonth> toDetach;
+
+    public static BookingPartitionPlan of(YearMonth current, Collection<YearMonth> attached,
+                                          Collection<YearMonth> inDefault, int monthsAhead, int retentionMonths) {
+        TreeSet<YearMonth> toCreate = new TreeSet<>(inDefault);
+        for (int i = 0; i <= monthsAhead; i++) {
+            toCreate.add(current.plusMonths(i));
+        }
+        toCreate.removeAll(attached);
+
+        List<YearMonth> toDetach = List.of();
+        if (retentionMonths > 0) {
+            TreeSet<YearMonth> all = new TreeSet<>(attached);
+            all.addAll(toCreate);
+            toDetach = new ArrayList<>(all.headSet(current.minusMonths(retentionMonths)));
+        }
+        return new BookingPartitionPlan(new ArrayList<>(toCreate), toDetach);
+    }
+
+    public static String getName(YearMonth month) {
+        return month.format(NAME_FORMAT);
+    }
+
+    public static Optional<YearMonth> parseName(String name) {
+        Matcher matcher = NAME_PATTERN.matcher(name);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+}
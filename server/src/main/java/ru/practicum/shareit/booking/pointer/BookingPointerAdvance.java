@@ -0,0 +1,55 @@
+package ru.practicum.shareit.booking.pointer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+@ConditionalOnProperty(name = "shareit.booking.pointers.enabled", havingValue = "true")
+@Slf4j
+public class BookingPointerAdvance {
+    private final BookingPointers bookingPointers;
+    private final Counter advancedCounter;
+    private final Timer runTimer;
+
+    public BookingPointerAdvance(BookingPointers bookingPointers, MeterRegistry meterRegistry) {
+        this.bookingPointers = bookingPointers;
+        this.advancedCounter = Counter.builder("shareit.booking.pointers.advanced")
+                .description("Items whose next booking started and whose booking pointers were moved on")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("shareit.booking.pointers.run")
+                .description("Duration of one run over all items with a started next booking")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.pointers.interval}",
+            initialDelayString = "${shareit.booking.pointers.interval}")
+    public void advance() {
+        try {
+            runTimer.record(() -> advanceStartedBefore(LocalDateTime.now()));
+        } catch (DataAccessException e) {
+            log.warn("Booking pointer advance failed: {}", e.getMessage());
+        }
+    }
+
+    public long advanceStartedBefore(LocalDateTime current) {
+        long total = 0;
+        int advanced;
+        do {
+            advanced = bookingPointers.advance(current);
+            total += advanced;
+            advancedCounter.increment(advanced);
+        } while (advanced == bookingPointers.getChunkSize());
+        if (total > 0) {
+            log.info("Booking pointers advanced for {} items with a next booking started before {}", total, current);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.booking.pointer;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.service.ItemDetailCache;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
+
+@Component
+@Slf4j
+public class BookingPointers {
+    private final ItemRepository itemRepository;
+    private final ItemDetailCache itemDetailCache;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    @Getter
+    private final int chunkSize;
+
+    public BookingPointers(ItemRepository itemRepository, ItemDetailCache itemDetailCache,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${shareit.booking.pointers.chunk-size}") int chunkSize) {
+        this.itemRepository = itemRepository;
+        this.itemDetailCache = itemDetailCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.chunkSize = chunkSize;
+    }
+
+    public void refresh(Collection<Long> itemIds, LocalDateTime current) {
+        itemRepository.updateBookingPointers(itemIds, current, APPROVED.name());
+        itemIds.forEach(itemDetailCache::evictOwnerView);
+    }
+
+    public int clearLastBefore(LocalDateTime before) {
+        int cleared = itemRepository.clearLastBookingPointersBefore(before);
+        if (cleared > 0) {
+            itemDetailCache.evictAll();
+        }
+        return cleared;
+    }
+
+    public int advance(LocalDateTime current) {
+        return transactionTemplate.execute(status -> {
+            List<Long> itemIds = itemRepository.findIdsByNextBookingStartBeforeForUpdate(current, chunkSize);
+            if (!itemIds.isEmpty()) {
+                refresh(itemIds, current);
+            }
+            return itemIds.size();
+        });
+    }
+
+    public List<Long> findInconsistent(LocalDateTime current, int limit) {
+        return readOnlyTransactionTemplate.execute(status -> itemRepository.findIdsWithStaleBookingPointers(current,
+                APPROVED.name(), 0, limit));
+    }
+
+    public long repair(LocalDateTime current) {
+        long repaired = 0;
+        long afterId = 0;
+        List<Long> itemIds;
+        do {
+            long from = afterId;
+            itemIds = transactionTemplate.execute(status -> {
+                List<Long> stale = itemRepository.findIdsWithStaleBookingPointers(current, APPROVED.name(), from,
+                        chunkSize);
+                if (!stale.isEmpty()) {
+                    itemRepository.findAllByIdInForUpdate(stale);
+                    refresh(stale, current);
+                }
+                return stale;
+            });
+            repaired += itemIds.size();
+            afterId = itemIds.isEmpty() ? afterId : itemIds.get(itemIds.size() - 1);
+        } while (itemIds.size() == chunkSize);
+        if (repaired > 0) {
+            log.warn("Booking pointers of {} items did not match their bookings as of {} and were recomputed",
+                    repaired, current);
+        }
+        return repaired;
+    }
+}
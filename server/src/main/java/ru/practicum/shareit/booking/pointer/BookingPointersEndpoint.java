@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking.pointer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "bookingpointers")
+@RequiredArgsConstructor
+public class BookingPointersEndpoint {
+    private static final int SAMPLE_SIZE = 100;
+
+    private final BookingPointers bookingPointers;
+
+    @ReadOperation
+    public Map<String, Object> check() {
+        return Map.of("inconsistentItemIds", bookingPointers.findInconsistent(LocalDateTime.now(), SAMPLE_SIZE));
+    }
+
+    @WriteOperation
+    public Map<String, Object> repair() {
+        return Map.of("repaired", bookingPointers.repair(LocalDateTime.now()));
+    }
+}
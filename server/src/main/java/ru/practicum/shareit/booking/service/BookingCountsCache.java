@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
+import ru.practicum.shareit.cache.VersionedLruCache;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+@Component
+public class BookingCountsCache {
+    private static final String CACHE_NAME = "shareit.booking.counts.cache";
+
+    private final VersionedLruCache<Long, BookingCountsDto> bookerCounts;
+    private final VersionedLruCache<Long, BookingCountsDto> ownerCounts;
+
+    public BookingCountsCache(MeterRegistry meterRegistry,
+                              @Value("${shareit.booking.counts-cache-max-size}") int maxSize,
+                              @Value("${shareit.booking.counts-cache-ttl}") Duration ttl) {
+        this.bookerCounts = new VersionedLruCache<>(CACHE_NAME, Tags.of("role", "booker"), maxSize, ttl,
+                meterRegistry);
+        this.ownerCounts = new VersionedLruCache<>(CACHE_NAME, Tags.of("role", "owner"), maxSize, ttl,
+                meterRegistry);
+    }
+
+    public BookingCountsDto getBooker(Long userId, Supplier<BookingCountsDto> loader) {
+        return bookerCounts.get(userId, loader);
+    }
+
+    public BookingCountsDto getOwner(Long userId, Supplier<BookingCountsDto> loader) {
+        return ownerCounts.get(userId, loader);
+    }
+
+    public void evict(Long userId) {
+        bookerCounts.evict(userId);
+        ownerCounts.evict(userId);
+    }
+}
@@ -1,19 +1,48 @@
 package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.booking.dto.ItemOccupancyDto;
+import ru.practicum.shareit.export.ExportFormat;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.Collection;
+import java.util.List;
 
 public interface BookingService {
     BookingDto createBooking(BookingDtoCreate bookingDtoCreate, Long userId);
 
+    List<BookingBatchResultDto> createBookings(List<BookingDtoCreate> bookingDtoCreates, Long userId);
+
     BookingDto updateBooking(Long userId, Long bookingId, Boolean approved);
 
+    Collection<BookingDto> updateBookings(Long userId, List<Long> bookingIds, Boolean approved);
+
+    int expireBookings(LocalDateTime current, Integer limit);
+
     BookingDto getOneBookingUser(Long bookingId, Long userId);
 
     Collection<BookingDto> getAllBookingsBooker(Long userId, BookingState bookingState, Integer from, Integer size);
 
     Collection<BookingDto> getAllBookingsOwner(Long userId, BookingState bookingState, Integer from, Integer size);
+
+    Collection<BookingDto> getAllBookingsBookerAfter(Long userId, BookingState bookingState,
+                                                     KeysetCursor after, Integer size);
+
+    Collection<BookingDto> getAllBookingsOwnerAfter(Long userId, BookingState bookingState,
+                                                    KeysetCursor after, Integer size);
+
+    BookingCountsDto getBookingCountsBooker(Long userId);
+
+    BookingCountsDto getBookingCountsOwner(Long userId);
+
+    void exportBookingsOwner(Long userId, ExportFormat format, OutputStream outputStream);
+
+    List<ItemOccupancyDto> getCalendarOwner(Long userId, YearMonth month);
 }
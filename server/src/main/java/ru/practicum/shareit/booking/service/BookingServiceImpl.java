@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -9,20 +11,41 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.availability.BookedInterval;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.booking.dto.BookingInfoView;
+import ru.practicum.shareit.booking.dto.ItemOccupancyDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.pointer.BookingPointers;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.export.ExportFormat;
+import ru.practicum.shareit.export.ExportWriter;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemDetailCache;
+import ru.practicum.shareit.outbox.OutboxEventType;
+import ru.practicum.shareit.outbox.OutboxPublisher;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManager;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
-import java.util.Collection;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static ru.practicum.shareit.booking.BookingStatus.*;
 
@@ -30,10 +53,20 @@ import static ru.practicum.shareit.booking.BookingStatus.*;
 @RequiredArgsConstructor
 @Slf4j
 public class BookingServiceImpl implements BookingService {
+    private static final Map<String, Function<BookingDto, Object>> EXPORT_COLUMNS = getExportColumns();
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingMapper bookingMapper;
+    private final ItemLocks itemLocks;
+    private final BookingAvailability bookingAvailability;
+    private final BookingCountsCache bookingCountsCache;
+    private final ItemDetailCache itemDetailCache;
+    private final BookingPointers bookingPointers;
+    private final OutboxPublisher outboxPublisher;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
     @Transactional
     @Override
@@ -42,22 +75,156 @@ public class BookingServiceImpl implements BookingService {
         Item item = getAvailableItemByIdIfItExists(bookingDtoCreate.getItemId(), userId);
 
         getExceptionIfUserIsNotBooker(userId, item);
+        getExceptionIfIntervalIsBooked(item.getId(), bookingDtoCreate.getStart(), bookingDtoCreate.getEnd());
         Booking booking = bookingRepository.save(bookingMapper.toBooking(bookingDtoCreate, booker, item));
+        bookingAvailability.addAfterCommit(booking);
+        evictCounts(booking);
+        BookingDto bookingDto = bookingMapper.toBookingDto(booking);
+        outboxPublisher.publish(OutboxEventType.BOOKING_CREATED, booking.getId(), bookingDto);
         log.info("User id={} created booking id={} : {}", userId, booking.getId(), bookingDtoCreate);
-        return bookingMapper.toBookingDto(booking);
+        return bookingDto;
+    }
+
+    @Transactional
+    @Override
+    public List<BookingBatchResultDto> createBookings(List<BookingDtoCreate> bookingDtoCreates, Long userId) {
+        User booker = getUserIfTheExists(userId);
+        if (bookingDtoCreates.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Long> itemIds = bookingDtoCreates.stream()
+                .map(BookingDtoCreate::getItemId)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllWithOwnerByIdIn(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, List<BookedInterval>> approvedIntervals = getApprovedIntervalsByItem(bookingDtoCreates, itemIds);
+
+        BookingBatchResultDto[] results = new BookingBatchResultDto[bookingDtoCreates.size()];
+        List<Booking> bookings = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < bookingDtoCreates.size(); i++) {
+            BookingDtoCreate bookingDtoCreate = bookingDtoCreates.get(i);
+            try {
+                Item item = getAvailableItemIfItWasLoaded(items, bookingDtoCreate.getItemId(), userId);
+                getExceptionIfUserIsNotBooker(userId, item);
+                getExceptionIfIntervalIsBooked(item.getId(), bookingDtoCreate.getStart(), bookingDtoCreate.getEnd(),
+                        approvedIntervals.getOrDefault(item.getId(), List.of()));
+                bookings.add(bookingMapper.toBooking(bookingDtoCreate, booker, item));
+                indexes.add(i);
+            } catch (NotFoundException | ValidationException | ConflictException e) {
+                results[i] = new BookingBatchResultDto(i, null, e.getMessage());
+            }
+        }
+
+        bookingRepository.insertAll(bookings);
+        List<BookingDto> bookingDtos = new ArrayList<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            bookingAvailability.addAfterCommit(booking);
+            evictCounts(booking);
+            BookingDto bookingDto = bookingMapper.toBookingDto(booking);
+            bookingDtos.add(bookingDto);
+            results[indexes.get(i)] = new BookingBatchResultDto(indexes.get(i), bookingDto, null);
+        }
+        outboxPublisher.publishAll(OutboxEventType.BOOKING_CREATED, bookingDtos, BookingDto::getId);
+        log.info("User id={} created {} of {} bookings in a batch", userId, bookings.size(), results.length);
+        return Arrays.asList(results);
     }
 
     @Transactional
     @Override
     public BookingDto updateBooking(Long userId, Long bookingId, Boolean approved) {
+        lockItemOfBooking(userId, bookingId);
         Booking bookingOld = getBookingNotWaitingIfItExists(userId, bookingId);
         BookingStatus status = approved ? APPROVED : REJECTED;
-        bookingOld.setStatus(status);
         getExceptionIfUserIsNotOwner(userId, bookingOld);
+        if (status == APPROVED) {
+            getExceptionIfIntervalIsBooked(bookingOld.getItem().getId(), bookingOld.getStart(), bookingOld.getEnd());
+        }
+        bookingOld.setStatus(status);
 
-        Booking bookingUpdated = bookingRepository.save(bookingOld);
+        Booking bookingUpdated;
+        try {
+            bookingUpdated = bookingRepository.saveAndFlush(bookingOld);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Booking id={} overlaps an approved booking: {}", bookingId,
+                    e.getMostSpecificCause().getMessage());
+            throw new ConflictException("The item is already booked for the interval of booking id=" + bookingId);
+        }
+        if (status == REJECTED) {
+            bookingAvailability.removeAfterCommit(bookingId);
+        }
+        evictCounts(bookingUpdated);
+        if (status == APPROVED) {
+            bookingPointers.refresh(List.of(bookingUpdated.getItem().getId()), LocalDateTime.now());
+        } else {
+            itemDetailCache.evictOwnerView(bookingUpdated.getItem().getId());
+        }
+        BookingDto bookingDto = bookingMapper.toBookingDto(bookingUpdated);
+        outboxPublisher.publish(getEventType(status), bookingId, bookingDto);
         log.info("Owner item updated status booking id={} to : {}", userId, status);
-        return bookingMapper.toBookingDto(bookingUpdated);
+        return bookingDto;
+    }
+
+    @Transactional
+    @Override
+    public Collection<BookingDto> updateBookings(Long userId, List<Long> bookingIds, Boolean approved) {
+        if (bookingIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        BookingStatus status = approved ? APPROVED : REJECTED;
+        if (status == APPROVED) {
+            List<Long> itemIds = bookingRepository.findItemIdsByIdInAndOwner(bookingIds, userId);
+            if (itemIds.isEmpty()) {
+                return new ArrayList<>();
+            }
+            itemLocks.lockAllUntilCompletion(itemIds);
+            itemRepository.findAllByIdInForUpdate(itemIds);
+        }
+        List<Booking> bookings = bookingRepository.findAllByIdInAndStatusAndOwnerForUpdate(bookingIds, WAITING, userId);
+        if (status == APPROVED) {
+            bookings = getBookingsNotOverlappingApproved(bookings);
+        }
+        if (bookings.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> updatedIds = bookings.stream().map(Booking::getId).collect(Collectors.toList());
+        bookingRepository.updateStatusByIdInAndOwner(updatedIds, WAITING, status, userId);
+        bookings.forEach(booking -> booking.setStatus(status));
+        if (status == REJECTED) {
+            updatedIds.forEach(bookingAvailability::removeAfterCommit);
+        }
+        bookings.forEach(this::evictCounts);
+        Set<Long> updatedItemIds = bookings.stream().map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        if (status == APPROVED) {
+            bookingPointers.refresh(updatedItemIds, LocalDateTime.now());
+        } else {
+            updatedItemIds.forEach(itemDetailCache::evictOwnerView);
+        }
+        Collection<BookingDto> bookingDtos = bookingMapper.toBookingDtoCollection(bookings);
+        outboxPublisher.publishAll(getEventType(status), bookingDtos, BookingDto::getId);
+        log.info("Owner id={} updated status of bookings {} to : {}", userId, updatedIds, status);
+        return bookingDtos;
+    }
+
+    @Transactional
+    @Override
+    public int expireBookings(LocalDateTime current, Integer limit) {
+        List<Long> bookingIds = bookingRepository.findIdsByStatusAndStartBeforeForUpdate(WAITING, current,
+                PageRequest.of(0, limit));
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+        bookingRepository.updateStatusByIdIn(bookingIds, WAITING, EXPIRED);
+        List<Booking> bookings = bookingRepository.findAllWithItemAndBookerByIdIn(bookingIds);
+        bookingIds.forEach(bookingAvailability::removeAfterCommit);
+        bookings.forEach(this::evictCounts);
+        outboxPublisher.publishAll(OutboxEventType.BOOKING_EXPIRED, bookingMapper.toBookingDtoCollection(bookings),
+                BookingDto::getId);
+        log.info("Expired {} waiting bookings started before {}", bookingIds.size(), current);
+        return bookingIds.size();
     }
 
     @Transactional(readOnly = true)
@@ -76,10 +243,10 @@ public class BookingServiceImpl implements BookingService {
     public Collection<BookingDto> getAllBookingsBooker(Long userId, BookingState bookingState,
                                                        Integer from, Integer size) {
         getUserIfTheExists(userId);
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Order.desc("start")));
-        Collection<Booking> allBookings = getBookingsForBooker(bookingState, userId, pageable);
+        Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Order.desc("start"), Sort.Order.desc("id")));
+        Collection<BookingDto> allBookings = getBookingsForBooker(bookingState, userId, pageable);
         log.info("Information about the bookings was obtained by the booker id={}", userId);
-        return bookingMapper.toBookingDtoCollection(allBookings);
+        return allBookings;
     }
 
     @Transactional(readOnly = true)
@@ -87,10 +254,107 @@ public class BookingServiceImpl implements BookingService {
     public Collection<BookingDto> getAllBookingsOwner(Long userId, BookingState bookingState,
                                                       Integer from, Integer size) {
         getUserIfTheExists(userId);
-        Pageable pageable = PageRequest.of(from, size, Sort.by(Sort.Order.desc("start")));
-        Collection<Booking> allBookings = getBookingsForOwner(bookingState, userId, pageable);
+        Pageable pageable = PageRequest.of(from, size, Sort.by(Sort.Order.desc("start"), Sort.Order.desc("id")));
+        Collection<BookingDto> allBookings = getBookingsForOwner(bookingState, userId, pageable);
         log.info("Information about the bookings was obtained by the owner id={}", userId);
-        return bookingMapper.toBookingDtoCollection(allBookings);
+        return allBookings;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Collection<BookingDto> getAllBookingsBookerAfter(Long userId, BookingState bookingState,
+                                                            KeysetCursor after, Integer size) {
+        getUserIfTheExists(userId);
+        Collection<BookingDto> allBookings = getBookingsForBookerAfter(bookingState, userId, after,
+                PageRequest.of(0, size));
+        log.info("Information about the bookings after={} was obtained by the booker id={}", after, userId);
+        return allBookings;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Collection<BookingDto> getAllBookingsOwnerAfter(Long userId, BookingState bookingState,
+                                                           KeysetCursor after, Integer size) {
+        getUserIfTheExists(userId);
+        Collection<BookingDto> allBookings = getBookingsForOwnerAfter(bookingState, userId, after,
+                PageRequest.of(0, size));
+        log.info("Information about the bookings after={} was obtained by the owner id={}", after, userId);
+        return allBookings;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BookingCountsDto getBookingCountsBooker(Long userId) {
+        BookingCountsDto counts = bookingCountsCache.getBooker(userId, () -> {
+            getUserIfTheExists(userId);
+            return bookingRepository.countStatesByBooker(userId, LocalDateTime.now());
+        });
+        log.info("Booking counts were obtained by the booker id={}", userId);
+        return counts;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BookingCountsDto getBookingCountsOwner(Long userId) {
+        BookingCountsDto counts = bookingCountsCache.getOwner(userId, () -> {
+            getUserIfTheExists(userId);
+            return bookingRepository.countStatesByOwner(userId, LocalDateTime.now());
+        });
+        log.info("Booking counts were obtained by the owner id={}", userId);
+        return counts;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportBookingsOwner(Long userId, ExportFormat format, OutputStream outputStream) {
+        getUserIfTheExists(userId);
+        ExportWriter<BookingDto> writer = new ExportWriter<>(format, outputStream, objectMapper, EXPORT_COLUMNS);
+        try (Stream<Booking> bookings = bookingRepository.streamAllByOwner(userId)) {
+            long count = writer.writeAll(bookings, bookingMapper::toBookingDto, entityManager::clear);
+            log.info("{} bookings were exported by the owner id={} in {}", count, userId, format);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<ItemOccupancyDto> getCalendarOwner(Long userId, YearMonth month) {
+        getUserIfTheExists(userId);
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        Map<Long, ItemOccupancyDto> calendar = new TreeMap<>();
+        for (BookingInfoView booking : bookingRepository
+                .findAllByOwnerAndStatusInOverlapping(userId, List.of(APPROVED, WAITING), from, to)) {
+            ItemOccupancyDto occupancy = calendar.computeIfAbsent(booking.getItemId(),
+                    itemId -> new ItemOccupancyDto(itemId, 0L, 0L));
+            long days = getDayMask(from, to, booking.getTimeStart(), booking.getTimeEnd());
+            if (booking.getStatus() == APPROVED) {
+                occupancy.setApprovedDays(occupancy.getApprovedDays() | days);
+            } else {
+                occupancy.setWaitingDays(occupancy.getWaitingDays() | days);
+            }
+        }
+        log.info("Calendar for {} was obtained by the owner id={}: {} items", month, userId, calendar.size());
+        return new ArrayList<>(calendar.values());
+    }
+
+    private static long getDayMask(LocalDateTime from, LocalDateTime to, LocalDateTime start, LocalDateTime end) {
+        int firstDay = (int) ChronoUnit.DAYS.between(from, start.isBefore(from) ? from : start);
+        int lastDay = (int) ChronoUnit.DAYS.between(from, (end.isAfter(to) ? to : end).minusNanos(1));
+        return (-1L << firstDay) & (-1L >>> (63 - lastDay));
+    }
+
+    private static Map<String, Function<BookingDto, Object>> getExportColumns() {
+        Map<String, Function<BookingDto, Object>> columns = new LinkedHashMap<>();
+        columns.put("id", BookingDto::getId);
+        columns.put("start", BookingDto::getStart);
+        columns.put("end", BookingDto::getEnd);
+        columns.put("status", BookingDto::getStatus);
+        columns.put("item_id", booking -> booking.getItem().getId());
+        columns.put("item_name", booking -> booking.getItem().getName());
+        columns.put("booker_id", booking -> booking.getBooker().getId());
+        columns.put("booker_name", booking -> booking.getBooker().getName());
+        columns.put("booker_email", booking -> booking.getBooker().getEmail());
+        return columns;
     }
 
     private User getUserIfTheExists(Long userId) {
@@ -105,7 +369,20 @@ public class BookingServiceImpl implements BookingService {
             log.warn("The item with this id={} not found for user id={}", itemId, userId);
             throw new NotFoundException("The item with this id=" + itemId + " not found");
         });
+        return getItemIfItIsAvailable(item);
+    }
+
+    private Item getAvailableItemIfItWasLoaded(Map<Long, Item> items, Long itemId, Long userId) {
+        Item item = items.get(itemId);
+        if (item == null) {
+            log.warn("The item with this id={} not found for user id={}", itemId, userId);
+            throw new NotFoundException("The item with this id=" + itemId + " not found");
+        }
+        return getItemIfItIsAvailable(item);
+    }
 
+    private Item getItemIfItIsAvailable(Item item) {
+        Long itemId = item.getId();
         if (item.getAvailable().equals(false)) {
             log.warn("The item with id={} not found or not available", itemId);
             throw new ValidationException("The item with this id=" + itemId + " not found or not available");
@@ -113,8 +390,80 @@ public class BookingServiceImpl implements BookingService {
         return item;
     }
 
+    private void lockItemOfBooking(Long userId, Long bookingId) {
+        Long itemId = bookingRepository.findItemIdById(bookingId).orElseThrow(() -> {
+            log.warn("Booking id={} user id={} not found", bookingId, userId);
+            return new NotFoundException("Booking with id=" + bookingId + " not found");
+        });
+        itemLocks.lockUntilCompletion(itemId);
+        itemRepository.findByIdForUpdate(itemId);
+    }
+
+    private void getExceptionIfIntervalIsBooked(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (bookingRepository.existsOverlapping(itemId, APPROVED, start, end)) {
+            log.warn("The item id={} is already booked between {} and {}", itemId, start, end);
+            throw new ConflictException("The item with id=" + itemId + " is already booked for this interval");
+        }
+    }
+
+    private void getExceptionIfIntervalIsBooked(Long itemId, LocalDateTime start, LocalDateTime end,
+                                                List<BookedInterval> approvedIntervals) {
+        for (BookedInterval interval : approvedIntervals) {
+            if (interval.getStart().isBefore(end) && interval.getEnd().isAfter(start)) {
+                log.warn("The item id={} is already booked between {} and {}", itemId, start, end);
+                throw new ConflictException("The item with id=" + itemId + " is already booked for this interval");
+            }
+        }
+    }
+
+    private List<Booking> getBookingsNotOverlappingApproved(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return bookings;
+        }
+        Set<Long> itemIds = bookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        LocalDateTime start = bookings.stream().map(Booking::getStart).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime end = bookings.stream().map(Booking::getEnd).max(Comparator.naturalOrder()).orElseThrow();
+        Map<Long, List<BookedInterval>> approvedIntervals = bookingRepository
+                .findAllIntervalsOverlapping(itemIds, APPROVED, start, end).stream()
+                .collect(Collectors.groupingBy(BookedInterval::getItemId, Collectors.toCollection(ArrayList::new)));
+
+        List<Booking> accepted = new ArrayList<>();
+        bookings.stream()
+                .sorted(Comparator.comparing(Booking::getStart).thenComparing(Booking::getId))
+                .forEach(booking -> {
+                    Long itemId = booking.getItem().getId();
+                    List<BookedInterval> itemIntervals = approvedIntervals
+                            .computeIfAbsent(itemId, id -> new ArrayList<>());
+                    try {
+                        getExceptionIfIntervalIsBooked(itemId, booking.getStart(), booking.getEnd(), itemIntervals);
+                        itemIntervals.add(new BookedInterval(booking.getId(), itemId, booking.getStart(),
+                                booking.getEnd()));
+                        accepted.add(booking);
+                    } catch (ConflictException e) {
+                        log.warn("Booking id={} is left WAITING: {}", booking.getId(), e.getMessage());
+                    }
+                });
+        return accepted;
+    }
+
+    private Map<Long, List<BookedInterval>> getApprovedIntervalsByItem(List<BookingDtoCreate> bookingDtoCreates,
+                                                                       Set<Long> itemIds) {
+        LocalDateTime start = bookingDtoCreates.stream()
+                .map(BookingDtoCreate::getStart)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime end = bookingDtoCreates.stream()
+                .map(BookingDtoCreate::getEnd)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        return bookingRepository.findAllIntervalsOverlapping(itemIds, APPROVED, start, end).stream()
+                .collect(Collectors.groupingBy(BookedInterval::getItemId));
+    }
+
     private Booking getBookingNotWaitingIfItExists(Long userId, Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> {
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId).orElseThrow(() -> {
             log.warn("Booking id={} user id={} not found", bookingId, userId);
             return new NotFoundException("Booking with id=" + bookingId + " not found");
         });
@@ -140,7 +489,16 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    private Collection<Booking> getBookingsForOwner(BookingState state, Long userId, Pageable pageable) {
+    private static OutboxEventType getEventType(BookingStatus status) {
+        return status == APPROVED ? OutboxEventType.BOOKING_APPROVED : OutboxEventType.BOOKING_REJECTED;
+    }
+
+    private void evictCounts(Booking booking) {
+        bookingCountsCache.evict(booking.getBooker().getId());
+        bookingCountsCache.evict(booking.getItem().getOwner().getId());
+    }
+
+    private Collection<BookingDto> getBookingsForOwner(BookingState state, Long userId, Pageable pageable) {
         LocalDateTime current = LocalDateTime.now();
         switch (state) {
             case PAST:
@@ -151,6 +509,8 @@ public class BookingServiceImpl implements BookingService {
                 return bookingRepository.findAllByItem_Owner_IdAndStatus(userId, WAITING, pageable);
             case REJECTED:
                 return bookingRepository.findAllByItem_Owner_IdAndStatus(userId, REJECTED, pageable);
+            case EXPIRED:
+                return bookingRepository.findAllByItem_Owner_IdAndStatus(userId, EXPIRED, pageable);
             case CURRENT:
                 return bookingRepository
                         .findAllByItem_Owner_IdAndStartBeforeAndEndAfter(userId, current, current, pageable);
@@ -158,7 +518,7 @@ public class BookingServiceImpl implements BookingService {
         return bookingRepository.findAllByItem_Owner_Id(userId, pageable);
     }
 
-    private Collection<Booking> getBookingsForBooker(BookingState state, Long userId, Pageable pageable) {
+    private Collection<BookingDto> getBookingsForBooker(BookingState state, Long userId, Pageable pageable) {
         LocalDateTime current = LocalDateTime.now();
         switch (state) {
             case PAST:
@@ -169,10 +529,56 @@ public class BookingServiceImpl implements BookingService {
                 return bookingRepository.findAllByBooker_IdAndStatus(userId, WAITING, pageable);
             case REJECTED:
                 return bookingRepository.findAllByBooker_IdAndStatus(userId, REJECTED, pageable);
+            case EXPIRED:
+                return bookingRepository.findAllByBooker_IdAndStatus(userId, EXPIRED, pageable);
             case CURRENT:
                 return bookingRepository
                         .findAllByBooker_IdAndStartBeforeAndEndAfter(userId, current, current, pageable);
         }
         return bookingRepository.findAllByBooker_Id(userId, pageable);
     }
+
+    private Collection<BookingDto> getBookingsForOwnerAfter(BookingState state, Long userId, KeysetCursor after,
+                                                            Pageable pageable) {
+        LocalDateTime current = LocalDateTime.now();
+        LocalDateTime start = after.getTimestamp();
+        Long id = after.getId();
+        switch (state) {
+            case PAST:
+                return bookingRepository.findAllByOwnerAndEndBeforeAfter(userId, current, start, id, pageable);
+            case FUTURE:
+                return bookingRepository.findAllByOwnerAndStartAfterAfter(userId, current, start, id, pageable);
+            case WAITING:
+                return bookingRepository.findAllByOwnerAndStatusAfter(userId, WAITING, start, id, pageable);
+            case REJECTED:
+                return bookingRepository.findAllByOwnerAndStatusAfter(userId, REJECTED, start, id, pageable);
+            case EXPIRED:
+                return bookingRepository.findAllByOwnerAndStatusAfter(userId, EXPIRED, start, id, pageable);
+            case CURRENT:
+                return bookingRepository.findAllByOwnerAndCurrentAfter(userId, current, start, id, pageable);
+        }
+        return bookingRepository.findAllByOwnerAfter(userId, start, id, pageable);
+    }
+
+    private Collection<BookingDto> getBookingsForBookerAfter(BookingState state, Long userId, KeysetCursor after,
+                                                             Pageable pageable) {
+        LocalDateTime current = LocalDateTime.now();
+        LocalDateTime start = after.getTimestamp();
+        Long id = after.getId();
+        switch (state) {
+            case PAST:
+                return bookingRepository.findAllByBookerAndEndBeforeAfter(userId, current, start, id, pageable);
+            case FUTURE:
+                return bookingRepository.findAllByBookerAndStartAfterAfter(userId, current, start, id, pageable);
+            case WAITING:
+                return bookingRepository.findAllByBookerAndStatusAfter(userId, WAITING, start, id, pageable);
+            case REJECTED:
+                return bookingRepository.findAllByBookerAndStatusAfter(userId, REJECTED, start, id, pageable);
+            case EXPIRED:
+                return bookingRepository.findAllByBookerAndStatusAfter(userId, EXPIRED, start, id, pageable);
+            case CURRENT:
+                return bookingRepository.findAllByBookerAndCurrentAfter(userId, current, start, id, pageable);
+        }
+        return bookingRepository.findAllByBookerAfter(userId, start, id, pageable);
+    }
 }
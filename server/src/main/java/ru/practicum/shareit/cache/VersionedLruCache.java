@@ -0,0 +1,186 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.AllArgsConstructor;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.transaction.TransactionCallbacks.isReadOnlyOrNone;
+import static ru.practicum.shareit.transaction.TransactionCallbacks.nowAndAfterCompletion;
+
+public class VersionedLruCache<K, V> {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<K, Entry<V>> entries;
+    private final Map<K, Long> evictedVersions;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter sizeEvictionCounter;
+    private final Counter expiredEvictionCounter;
+    private final Counter invalidatedEvictionCounter;
+    private long version;
+    private long minLoadVersion;
+
+    public VersionedLruCache(String name, Tags tags, int maxSize, Duration ttl, MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                sizeEvictionCounter.increment();
+                return true;
+            }
+        };
+        this.evictedVersions = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Long> eldest) {
+                if (size() <= Math.max(maxSize, 1)) {
+                    return false;
+                }
+                minLoadVersion = Math.max(minLoadVersion, eldest.getValue());
+                return true;
+            }
+        };
+        this.hitCounter = getCounter(name + ".requests", "Lookups served by the cache", tags.and("result", "hit"),
+                meterRegistry);
+        this.missCounter = getCounter(name + ".requests", "Lookups served by the cache", tags.and("result", "miss"),
+                meterRegistry);
+        this.sizeEvictionCounter = getCounter(name + ".evictions", "Entries removed from the cache",
+                tags.and("cause", "size"), meterRegistry);
+        this.expiredEvictionCounter = getCounter(name + ".evictions", "Entries removed from the cache",
+                tags.and("cause", "expired"), meterRegistry);
+        this.invalidatedEvictionCounter = getCounter(name + ".evictions", "Entries removed from the cache",
+                tags.and("cause", "invalidated"), meterRegistry);
+        Gauge.builder(name + ".size", this, VersionedLruCache::size)
+                .description("Entries currently cached")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        if (!isEnabled() || !isReadOnlyOrNone()) {
+            return loader.get();
+        }
+        V value = getIfPresent(key);
+        if (value != null) {
+            hitCounter.increment();
+            return value;
+        }
+        long loadVersion = getVersion();
+        missCounter.increment();
+        value = loader.get();
+        put(key, value, loadVersion);
+        return value;
+    }
+
+    public synchronized V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt - System.nanoTime() > 0) {
+            return entry.value;
+        }
+        entries.remove(key);
+        expiredEvictionCounter.increment();
+        return null;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized void put(K key, V value, long loadVersion) {
+        Long evictedVersion = evictedVersions.get(key);
+        if (isEnabled() && loadVersion >= minLoadVersion && (evictedVersion == null || evictedVersion <= loadVersion)) {
+            entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    public void recordHit() {
+        hitCounter.increment();
+    }
+
+    public void recordMiss() {
+        missCounter.increment();
+    }
+
+    public void evict(K key) {
+        nowAndAfterCompletion(() -> {
+            synchronized (this) {
+                evictedVersions.remove(key);
+                evictedVersions.put(key, ++version);
+                if (entries.remove(key) != null) {
+                    invalidatedEvictionCounter.increment();
+                }
+            }
+        });
+    }
+
+    public <G> void evictIf(Predicate<V> affected, Function<V, G> group) {
+        invalidate(() -> {
+            Set<G> groups = entries.values().stream()
+                    .map(entry -> entry.value)
+                    .filter(affected)
+                    .map(group)
+                    .collect(Collectors.toSet());
+            if (groups.isEmpty()) {
+                return;
+            }
+            int sizeBefore = entries.size();
+            entries.values().removeIf(entry -> groups.contains(group.apply(entry.value)));
+            invalidatedEvictionCounter.increment(sizeBefore - entries.size());
+        });
+    }
+
+    public void evictAll() {
+        invalidate(() -> {
+            invalidatedEvictionCounter.increment(entries.size());
+            entries.clear();
+            evictedVersions.clear();
+        });
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean isEnabled() {
+        return maxSize > 0 && ttlNanos > 0;
+    }
+
+    private void invalidate(Runnable removal) {
+        nowAndAfterCompletion(() -> {
+            synchronized (this) {
+                minLoadVersion = ++version;
+                removal.run();
+            }
+        });
+    }
+
+    private static Counter getCounter(String name, String description, Tags tags, MeterRegistry meterRegistry) {
+        return Counter.builder(name)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    @AllArgsConstructor
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+    }
+}
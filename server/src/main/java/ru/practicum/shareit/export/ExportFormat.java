@@ -0,0 +1,31 @@
+package ru.practicum.shareit.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    public static ExportFormat parse(String format) {
+        try {
+            return valueOf(format);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unknown format: " + format);
+        }
+    }
+
+    public String getContentDisposition(String name) {
+        return ContentDisposition.attachment().filename(name + "." + extension).build().toString();
+    }
+}
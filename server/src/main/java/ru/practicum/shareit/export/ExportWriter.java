@@ -0,0 +1,83 @@
+package ru.practicum.shareit.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static ru.practicum.shareit.Constant.DATE_FORMAT;
+import static ru.practicum.shareit.Constant.EXPORT_FETCH_SIZE;
+
+public class ExportWriter<T> {
+    private static final String CSV_SEPARATOR = ",";
+
+    private final ExportFormat format;
+    private final Writer writer;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Function<T, Object>> columns;
+
+    public ExportWriter(ExportFormat format, OutputStream outputStream, ObjectMapper objectMapper,
+                        Map<String, Function<T, Object>> columns) {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.objectMapper = objectMapper;
+        this.columns = columns;
+    }
+
+    public <S> long writeAll(Stream<S> rows, Function<S, T> mapper, Runnable afterFetch) {
+        try {
+            if (format == ExportFormat.CSV) {
+                writeLine(String.join(CSV_SEPARATOR, columns.keySet()));
+            }
+            long count = 0;
+            Iterator<S> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                write(mapper.apply(iterator.next()));
+                if (++count % EXPORT_FETCH_SIZE == 0) {
+                    afterFetch.run();
+                }
+            }
+            writer.flush();
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(T row) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            writeLine(objectMapper.writeValueAsString(row));
+            return;
+        }
+        writeLine(columns.values().stream()
+                .map(column -> toCsvValue(column.apply(row)))
+                .collect(Collectors.joining(CSV_SEPARATOR)));
+    }
+
+    private void writeLine(String line) throws IOException {
+        writer.write(line);
+        writer.write('\n');
+    }
+
+    private static String toCsvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof LocalDateTime ? DATE_FORMAT.format((LocalDateTime) value) : value.toString();
+        if (text.contains(CSV_SEPARATOR) || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
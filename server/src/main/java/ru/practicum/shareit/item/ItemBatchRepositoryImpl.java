@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.model.Item;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ItemBatchRepositoryImpl implements ItemBatchRepository {
+    private static final String INSERT_ITEM =
+            "INSERT INTO item (name, description, available, user_id, request_id) VALUES (?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Item> items) {
+        for (int from = 0; from < items.size(); from += BATCH_SIZE) {
+            insertBatch(items.subList(from, Math.min(from + BATCH_SIZE, items.size())));
+        }
+    }
+
+    private void insertBatch(List<Item> items) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection
+                    .prepareStatement(INSERT_ITEM, Statement.RETURN_GENERATED_KEYS)) {
+                for (Item item : items) {
+                    statement.setString(1, item.getName());
+                    statement.setString(2, item.getDescription());
+                    statement.setBoolean(3, item.getAvailable());
+                    statement.setLong(4, item.getOwner().getId());
+                    if (item.getRequest() == null) {
+                        statement.setNull(5, Types.BIGINT);
+                    } else {
+                        statement.setLong(5, item.getRequest().getId());
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (Item item : items) {
+                        keys.next();
+                        item.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -1,14 +1,25 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
+import ru.practicum.shareit.export.ExportFormat;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 import static ru.practicum.shareit.Constant.*;
 
@@ -45,6 +56,23 @@ public class ItemController {
         return itemService.updateItem(itemDto, itemId, userId);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportItems(@RequestHeader(HEADER_USER) Long userId,
+                                                             @RequestParam(defaultValue = EXPORT_FORMAT_DEFAULT)
+                                                             String format) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, exportFormat.getContentDisposition("items"))
+                .body(outputStream -> itemService.exportItems(userId, exportFormat, outputStream));
+    }
+
+    @PostMapping("/import")
+    public ItemImportResultDto importItems(@RequestHeader(HEADER_USER) Long userId,
+                                           InputStream inputStream) {
+        return itemService.importItems(userId, inputStream);
+    }
+
     @GetMapping("/search")
     public Collection<ItemDto> searchItems(@RequestParam String text,
                                            @RequestHeader(HEADER_USER) Long userId,
@@ -53,10 +81,44 @@ public class ItemController {
         return itemService.searchItems(text, userId, from, size);
     }
 
+    @GetMapping("/suggest")
+    public Collection<String> suggestItems(@RequestParam String prefix,
+                                           @RequestHeader(HEADER_USER) Long userId,
+                                           @RequestParam(defaultValue = SUGGEST_LIMIT_DEFAULT) Integer limit) {
+        return itemService.suggestItems(prefix, userId, limit);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Collection<TimeSlotDto> getItemAvailability(@PathVariable Long itemId,
+                                                       @RequestHeader(HEADER_USER) Long userId,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                       LocalDateTime from,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                       LocalDateTime to) {
+        return itemService.getItemAvailability(itemId, userId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto createComment(@RequestBody CommentDto commentDto,
                                     @RequestHeader(HEADER_USER) Long userId,
                                     @PathVariable Long itemId) {
         return itemService.createComment(commentDto, userId, itemId);
     }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Collection<CommentDto>> getComments(@PathVariable Long itemId,
+                                                              @RequestHeader(HEADER_USER) Long userId,
+                                                              @RequestParam(defaultValue = PAGE_SIZE_DEFAULT)
+                                                              Integer size,
+                                                              @RequestParam(required = false) String after) {
+        Collection<CommentDto> comments = after == null
+                ? itemService.getComments(itemId, userId, size)
+                : itemService.getCommentsAfter(itemId, userId, KeysetCursor.parse(after), size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (comments.size() == size) {
+            CommentDto last = List.copyOf(comments).get(comments.size() - 1);
+            response.header(HEADER_NEXT_CURSOR, KeysetCursor.of(last.getCreated(), last.getId()).format());
+        }
+        return response.body(comments);
+    }
 }
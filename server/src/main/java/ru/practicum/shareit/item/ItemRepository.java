@@ -2,16 +2,115 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemOverviewView;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static ru.practicum.shareit.Constant.EXPORT_FETCH_SIZE;
 
-    boolean existsByIdAndOwner_Id(Long id, Long ownerId);
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemBatchRepository {
+    String SELECT_ITEM_DTO = "SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, " +
+            "i.available, i.request.id) FROM Item i ";
+    String SELECT_ITEM_OVERVIEW = "SELECT i.item_id AS id, i.user_id AS ownerId, i.name AS name, " +
+            "i.description AS description, i.available AS available, " +
+            "l.booking_id AS lastId, l.user_id AS lastBookerId, l.time_start AS lastStart, " +
+            "l.time_end AS lastEnd, l.status AS lastStatus, " +
+            "n.booking_id AS nextId, n.user_id AS nextBookerId, n.time_start AS nextStart, " +
+            "n.time_end AS nextEnd, n.status AS nextStatus FROM item i " +
+            "LEFT JOIN booking l ON l.booking_id = i.last_booking_id AND l.time_start = i.last_booking_start " +
+            "LEFT JOIN booking n ON n.booking_id = i.next_booking_id AND n.time_start = i.next_booking_start ";
+    String FROM_LAST_BOOKING = "FROM booking b " +
+            "WHERE b.item_id = i.item_id AND b.status = :status AND b.time_start < :current " +
+            "ORDER BY b.time_start DESC, b.booking_id LIMIT 1";
+    String FROM_NEXT_BOOKING = "FROM booking b " +
+            "WHERE b.item_id = i.item_id AND b.status = :status AND b.time_start >= :current " +
+            "ORDER BY b.time_start, b.booking_id LIMIT 1";
 
-    List<Item> findByAvailableTrueAndDescriptionContainsIgnoreCaseOrAvailableTrueAndNameContainsIgnoreCase(String text,
-                                                                                                           String textDuplicate,
-                                                                                                           Pageable pageable);
+    @Query("SELECT i.available FROM Item i WHERE i.id = :itemId")
+    Optional<Boolean> findAvailableById(@Param("itemId") Long itemId);
+
+    @Query(value = SELECT_ITEM_OVERVIEW + "WHERE i.user_id = :ownerId ORDER BY i.item_id LIMIT :limit OFFSET :offset",
+            nativeQuery = true)
+    List<ItemOverviewView> findOverviewByOwnerId(@Param("ownerId") Long ownerId, @Param("offset") long offset,
+                                                 @Param("limit") int limit);
+
+    @Query(value = SELECT_ITEM_OVERVIEW + "WHERE i.item_id = :itemId", nativeQuery = true)
+    Optional<ItemOverviewView> findOverviewById(@Param("itemId") Long itemId);
+
+    @Modifying
+    @Query(value = "UPDATE item i SET (last_booking_id, last_booking_start) = " +
+            "(SELECT b.booking_id, b.time_start " + FROM_LAST_BOOKING + "), " +
+            "(next_booking_id, next_booking_start) = (SELECT b.booking_id, b.time_start " + FROM_NEXT_BOOKING + ") " +
+            "WHERE i.item_id IN (:itemIds)", nativeQuery = true)
+    int updateBookingPointers(@Param("itemIds") Collection<Long> itemIds, @Param("current") LocalDateTime current,
+                              @Param("status") String status);
+
+    @Modifying
+    @Query(value = "UPDATE item SET last_booking_id = NULL, last_booking_start = NULL " +
+            "WHERE last_booking_start < :before", nativeQuery = true)
+    int clearLastBookingPointersBefore(@Param("before") LocalDateTime before);
+
+    @Query(value = "SELECT i.item_id FROM item i WHERE i.next_booking_start < :current " +
+            "ORDER BY i.item_id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<Long> findIdsByNextBookingStartBeforeForUpdate(@Param("current") LocalDateTime current,
+                                                        @Param("limit") int limit);
+
+    @Query(value = "SELECT i.item_id FROM item i WHERE i.item_id > :afterId " +
+            "AND (i.next_booking_start IS NULL OR i.next_booking_start >= :current) " +
+            "AND (COALESCE(i.last_booking_id, 0) <> COALESCE((SELECT b.booking_id " + FROM_LAST_BOOKING + "), 0) " +
+            "OR COALESCE(i.next_booking_id, 0) <> COALESCE((SELECT b.booking_id " + FROM_NEXT_BOOKING + "), 0)) " +
+            "ORDER BY i.item_id LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsWithStaleBookingPointers(@Param("current") LocalDateTime current,
+                                               @Param("status") String status, @Param("afterId") long afterId,
+                                               @Param("limit") int limit);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("SELECT i FROM Item i WHERE i.owner.id = :ownerId ORDER BY i.id")
+    Stream<Item> streamAllByOwnerId(@Param("ownerId") Long ownerId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("SELECT i FROM Item i WHERE i.available = TRUE ORDER BY i.id")
+    Stream<Item> streamAllByAvailableTrue();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("SELECT i.name FROM Item i WHERE i.available = TRUE")
+    Stream<String> streamAvailableNames();
+
+    @Query("SELECT i.name FROM Item i WHERE i.owner.id = :ownerId AND i.available = TRUE")
+    List<String> findAvailableNamesByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :itemId")
+    Optional<Item> findByIdForUpdate(@Param("itemId") Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN :itemIds ORDER BY i.id")
+    List<Item> findAllByIdInForUpdate(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query("SELECT i FROM Item i JOIN FETCH i.owner WHERE i.id IN :itemIds")
+    List<Item> findAllWithOwnerByIdIn(@Param("itemIds") Collection<Long> itemIds);
+
+    default List<ItemDto> searchAvailable(String text, Pageable pageable) {
+        return searchAvailableEscaped(EscapeCharacter.DEFAULT.escape(text), pageable);
+    }
+
+    @Query(SELECT_ITEM_DTO + "WHERE i.available = TRUE " +
+            "AND (UPPER(i.description) LIKE CONCAT('%', UPPER(:text), '%') ESCAPE '\\' " +
+            "OR UPPER(i.name) LIKE CONCAT('%', UPPER(:text), '%') ESCAPE '\\')")
+    List<ItemDto> searchAvailableEscaped(@Param("text") String text, Pageable pageable);
 }
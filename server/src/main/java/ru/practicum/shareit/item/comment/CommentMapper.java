@@ -19,6 +19,16 @@ public class CommentMapper {
                 .build();
     }
 
+    public CommentDto toCommentDto(CommentView comment) {
+        return CommentDto.builder()
+                .id(comment.getId())
+                .text(comment.getText())
+                .authorName(comment.getAuthorName())
+                .created(comment.getCreated())
+                .itemId(comment.getItemId())
+                .build();
+    }
+
     public List<CommentDto> toCommentDtoList(List<Comment> comments) {
         return comments.stream()
                 .map(this::toCommentDto)
@@ -1,12 +1,48 @@
 package ru.practicum.shareit.item.comment;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    Optional<List<Comment>> findAllByItem_Id(Long itemId);
+    String SELECT_COMMENT_DTO = "SELECT new ru.practicum.shareit.item.comment.CommentDto(c.id, c.text, u.name, " +
+            "c.created, c.item.id) FROM Comment c JOIN c.user u ";
 
     Optional<List<Comment>> findAllByItem_IdIn(List<Long> itemId);
+
+    @Query(SELECT_COMMENT_DTO + "WHERE c.item.id IN :itemIds ORDER BY c.item.id, c.id")
+    List<CommentDto> findAllDtoByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query(value = "SELECT c.comment_id AS id, c.text, u.name AS authorName, c.created, c.item_id AS itemId, " +
+            "(SELECT COUNT(*) FROM comment t WHERE t.item_id = :itemId) AS total " +
+            "FROM comment c JOIN users u ON u.user_id = c.user_id " +
+            "WHERE c.item_id = :itemId " +
+            "ORDER BY c.created DESC, c.comment_id DESC LIMIT :limit", nativeQuery = true)
+    List<CommentView> findNewestByItemId(@Param("itemId") Long itemId, @Param("limit") int limit);
+
+    @Query(value = "SELECT r.comment_id AS id, r.text, u.name AS authorName, r.created, r.item_id AS itemId, " +
+            "r.total FROM (" +
+            "SELECT c.comment_id, c.text, c.user_id, c.created, c.item_id, " +
+            "ROW_NUMBER() OVER (PARTITION BY c.item_id ORDER BY c.created DESC, c.comment_id DESC) AS position, " +
+            "COUNT(*) OVER (PARTITION BY c.item_id) AS total " +
+            "FROM comment c WHERE c.item_id IN (:itemIds)) r " +
+            "JOIN users u ON u.user_id = r.user_id " +
+            "WHERE r.position <= :limit " +
+            "ORDER BY r.item_id, r.position", nativeQuery = true)
+    List<CommentView> findNewestByItemIdIn(@Param("itemIds") Collection<Long> itemIds, @Param("limit") int limit);
+
+    @Query(SELECT_COMMENT_DTO + "WHERE c.item.id = :itemId ORDER BY c.created DESC, c.id DESC")
+    List<CommentDto> findAllDtoByItemId(@Param("itemId") Long itemId, Pageable pageable);
+
+    @Query(SELECT_COMMENT_DTO + "WHERE c.item.id = :itemId " +
+            "AND (c.created < :created OR (c.created = :created AND c.id < :id)) " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<CommentDto> findAllDtoByItemIdAfter(@Param("itemId") Long itemId, @Param("created") LocalDateTime created,
+                                             @Param("id") Long id, Pageable pageable);
 }
@@ -20,4 +20,5 @@ public class ItemDtoInfo {
     private BookingDtoInfo lastBooking;
     private BookingDtoInfo nextBooking;
     private List<CommentDto> comments;
+    private Long commentCount;
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+@EqualsAndHashCode
+public class ItemImportResultDto {
+    private Long total;
+    private Long imported;
+    private Long failed;
+    private List<ItemImportLineDto> errors;
+}
@@ -34,26 +34,42 @@ public class ItemMapper {
                 .build();
     }
 
-    public ItemDtoInfo toOneItemDtoInfoForAllUsers(Item item, List<CommentDto> commentDto) {
+    public ItemDtoInfo toOneItemDtoInfoForAllUsers(ItemOverviewView item, List<CommentDto> commentDto,
+                                                   Long commentCount) {
         return ItemDtoInfo.builder()
                 .id(item.getId())
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
                 .comments(commentDto)
+                .commentCount(commentCount)
                 .build();
     }
 
-    public ItemDtoInfo toOneItemDtoInfoForOwner(Item item, BookingDtoInfo next, BookingDtoInfo last,
-                                                List<CommentDto> comments) {
+    public ItemDtoInfo toItemDtoInfo(ItemOverviewView item, List<CommentDto> comments, Long commentCount) {
         return ItemDtoInfo.builder()
                 .id(item.getId())
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
-                .nextBooking(next)
-                .lastBooking(last)
+                .lastBooking(item.getLastId() == null ? null : BookingDtoInfo.builder()
+                        .id(item.getLastId())
+                        .bookerId(item.getLastBookerId())
+                        .start(item.getLastStart())
+                        .end(item.getLastEnd())
+                        .status(item.getLastStatus())
+                        .itemId(item.getId())
+                        .build())
+                .nextBooking(item.getNextId() == null ? null : BookingDtoInfo.builder()
+                        .id(item.getNextId())
+                        .bookerId(item.getNextBookerId())
+                        .start(item.getNextStart())
+                        .end(item.getNextEnd())
+                        .status(item.getNextStatus())
+                        .itemId(item.getId())
+                        .build())
                 .comments(comments)
+                .commentCount(commentCount)
                 .build();
     }
 
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnExpression("'${shareit.item.search.engine}' == 'database' " +
+        "&& '${spring.sql.init.platform}' == 'postgresql'")
+@RequiredArgsConstructor
+public class FullTextItemSearch implements ItemSearch {
+    private static final String SEARCH_ITEMS = "SELECT i.item_id, i.name, i.description, i.available, i.request_id " +
+            "FROM item i, to_tsquery('simple', ?) query " +
+            "WHERE i.available = TRUE AND i.search_vector @@ query " +
+            "ORDER BY ts_rank(i.search_vector, query) DESC, i.item_id " +
+            "LIMIT ? OFFSET ?";
+    private static final RowMapper<ItemDto> ITEM_DTO_MAPPER = (resultSet, rowNum) -> new ItemDto(
+            resultSet.getLong("item_id"),
+            resultSet.getString("name"),
+            resultSet.getString("description"),
+            resultSet.getBoolean("available"),
+            resultSet.getObject("request_id", Long.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<ItemDto> search(String text, Pageable pageable) {
+        Optional<String> query = toTsQuery(text);
+        if (query.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return jdbcTemplate.query(SEARCH_ITEMS, ITEM_DTO_MAPPER, query.get(), pageable.getPageSize(),
+                pageable.getOffset());
+    }
+
+    static Optional<String> toTsQuery(String text) {
+        String query = Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? Optional.empty() : Optional.of(query);
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "itemindex")
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "lucene")
+@RequiredArgsConstructor
+public class ItemIndexEndpoint {
+    private final LuceneItemSearch luceneItemSearch;
+
+    @ReadOperation
+    public Map<String, Object> getIndex() {
+        return Map.of("indexed", luceneItemSearch.getIndexedCount());
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        return Map.of("indexed", luceneItemSearch.rebuild());
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemSearch {
+    List<ItemDto> search(String text, Pageable pageable);
+
+    default void indexAfterCommit(Item item) {
+    }
+
+    default void indexAllAfterCommit(Collection<Item> items) {
+        items.forEach(this::indexAfterCommit);
+    }
+
+    default void removeOwnerAfterCommit(Long ownerId) {
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.VersionedLruCache;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Component
+public class ItemSearchCache {
+    private static final String WORD_SEPARATOR = "[^\\p{L}\\p{N}]+";
+    private static final int MAX_EDITS = 2;
+    private static final int MIN_FUZZY_LENGTH = 3;
+
+    private final VersionedLruCache<String, Entry> cache;
+
+    public ItemSearchCache(MeterRegistry meterRegistry,
+                           @Value("${shareit.item.search.cache.max-size}") int maxSize,
+                           @Value("${shareit.item.search.cache.ttl}") Duration ttl) {
+        this.cache = new VersionedLruCache<>("shareit.item.search.cache", Tags.empty(), maxSize, ttl, meterRegistry);
+    }
+
+    public static String normalize(String text) {
+        return text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public List<ItemDto> get(String text, Pageable pageable, Supplier<List<ItemDto>> loader) {
+        String key = text + '|' + pageable.getOffset() + '|' + pageable.getPageSize();
+        return cache.get(key, () -> {
+            List<ItemDto> items = Collections.unmodifiableList(loader.get());
+            Set<Long> itemIds = items.stream().map(ItemDto::getId).collect(Collectors.toSet());
+            return new Entry(text, getWords(text), items, itemIds);
+        }).items;
+    }
+
+    public void evictChanged(Item before, Item after) {
+        if (before != null && Objects.equals(before.getName(), after.getName())
+                && Objects.equals(before.getDescription(), after.getDescription())
+                && Objects.equals(before.getAvailable(), after.getAvailable())) {
+            return;
+        }
+        Long itemId = after.getId();
+        List<String> texts = new ArrayList<>();
+        if (before != null && Boolean.TRUE.equals(before.getAvailable())) {
+            texts.add(getText(before));
+        }
+        if (Boolean.TRUE.equals(after.getAvailable())) {
+            texts.add(getText(after));
+        }
+        cache.evictIf(entry -> entry.itemIds.contains(itemId)
+                || texts.stream().anyMatch(text -> mayMatch(entry.words, text)), entry -> entry.text);
+    }
+
+    public void evictAll() {
+        cache.evictAll();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private static String getText(Item item) {
+        return normalize(item.getName() + " " + item.getDescription());
+    }
+
+    private static List<String> getWords(String text) {
+        List<String> words = Arrays.stream(text.split(WORD_SEPARATOR))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toList());
+        return words.isEmpty() ? List.of(text) : words;
+    }
+
+    private static boolean mayMatch(List<String> words, String text) {
+        List<String> tokens = getWords(text);
+        return words.stream().allMatch(word -> text.contains(word) || word.length() >= MIN_FUZZY_LENGTH
+                && tokens.stream().anyMatch(token -> isWithinMaxEdits(word, token)));
+    }
+
+    private static boolean isWithinMaxEdits(String word, String token) {
+        if (Math.abs(word.length() - token.length()) > MAX_EDITS) {
+            return false;
+        }
+        int[][] distance = new int[word.length() + 1][token.length() + 1];
+        for (int i = 0; i <= word.length(); i++) {
+            for (int j = 0; j <= token.length(); j++) {
+                if (i == 0 || j == 0) {
+                    distance[i][j] = i + j;
+                    continue;
+                }
+                int cost = word.charAt(i - 1) == token.charAt(j - 1) ? 0 : 1;
+                distance[i][j] = Math.min(Math.min(distance[i - 1][j] + 1, distance[i][j - 1] + 1),
+                        distance[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && word.charAt(i - 1) == token.charAt(j - 2)
+                        && word.charAt(i - 2) == token.charAt(j - 1)) {
+                    distance[i][j] = Math.min(distance[i][j], distance[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return distance[word.length()][token.length()] <= MAX_EDITS;
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final String text;
+        private final List<String> words;
+        private final List<ItemDto> items;
+        private final Set<Long> itemIds;
+    }
+}
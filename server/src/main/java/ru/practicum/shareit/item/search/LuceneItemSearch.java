@@ -0,0 +1,362 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.transaction.TransactionCallbacks;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static ru.practicum.shareit.Constant.EXPORT_FETCH_SIZE;
+
+@Component
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "lucene")
+@Slf4j
+public class LuceneItemSearch implements ItemSearch {
+    private static final String ID = "id";
+    private static final String OWNER_ID = "ownerId";
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String NAME_PREFIXES = "namePrefixes";
+    private static final String DESCRIPTION_PREFIXES = "descriptionPrefixes";
+    private static final String REQUEST_ID = "requestId";
+    private static final float NAME_BOOST = 2f;
+    private static final float TERM_BOOST = 4f;
+    private static final float PREFIX_BOOST = 2f;
+    private static final float FUZZY_BOOST = 1f;
+    private static final int FUZZY_PREFIX_LENGTH = 1;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_LENGTH = 15;
+
+    private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean rebuildOnStartup;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+    private final Set<Long> itemsChangedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final Set<Long> ownersRemovedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    public LuceneItemSearch(ItemRepository itemRepository, EntityManager entityManager,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${shareit.item.search.lucene.path}") Path path,
+                            @Value("${shareit.item.search.lucene.rebuild-on-startup}") boolean rebuildOnStartup) {
+        this.itemRepository = itemRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.rebuildOnStartup = rebuildOnStartup;
+        try {
+            this.directory = FSDirectory.open(path);
+            this.indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(indexWriter, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<ItemDto> search(String text, Pageable pageable) {
+        List<ItemDto> items = new ArrayList<>();
+        List<String> words = analyze(text);
+        if (words.isEmpty()) {
+            return items;
+        }
+        int offset = (int) pageable.getOffset();
+        int limit = offset + pageable.getPageSize();
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(toQuery(words, false), limit);
+                if (topDocs.totalHits.value == 0) {
+                    topDocs = searcher.search(toQuery(words, true), limit);
+                }
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                for (int i = offset; i < scoreDocs.length; i++) {
+                    items.add(toItemDto(searcher.doc(scoreDocs[i].doc)));
+                }
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return items;
+    }
+
+    @Override
+    public void indexAfterCommit(Item item) {
+        indexAllAfterCommit(List.of(item));
+    }
+
+    @Override
+    public void indexAllAfterCommit(Collection<Item> items) {
+        Map<Long, Document> documents = new LinkedHashMap<>();
+        items.forEach(item -> documents.put(item.getId(),
+                Boolean.TRUE.equals(item.getAvailable()) ? toDocument(item) : null));
+        afterCommit(() -> {
+            for (Map.Entry<Long, Document> entry : documents.entrySet()) {
+                Long itemId = entry.getKey();
+                if (rebuilding) {
+                    itemsChangedDuringRebuild.add(itemId);
+                }
+                if (entry.getValue() == null) {
+                    indexWriter.deleteDocuments(new Term(ID, itemId.toString()));
+                } else {
+                    indexWriter.updateDocument(new Term(ID, itemId.toString()), entry.getValue());
+                }
+            }
+        });
+    }
+
+    @Override
+    public void removeOwnerAfterCommit(Long ownerId) {
+        afterCommit(() -> {
+            if (rebuilding) {
+                ownersRemovedDuringRebuild.add(ownerId);
+            }
+            indexWriter.deleteDocuments(new Term(OWNER_ID, ownerId.toString()));
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    public synchronized long rebuild() {
+        itemsChangedDuringRebuild.clear();
+        ownersRemovedDuringRebuild.clear();
+        rebuilding = true;
+        try {
+            indexWriter.deleteAll();
+            long indexed = transactionTemplate.execute(status -> indexAvailableItems());
+            rebuilding = false;
+            reindexChangedDuringRebuild();
+            indexWriter.commit();
+            searcherManager.maybeRefresh();
+            log.info("Item search index rebuilt with {} available items", indexed);
+            return indexed;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.item.search.lucene.commit-interval}",
+            initialDelayString = "${shareit.item.search.lucene.commit-interval}")
+    public synchronized void commit() {
+        if (!indexWriter.hasUncommittedChanges()) {
+            return;
+        }
+        try {
+            indexWriter.commit();
+        } catch (IOException e) {
+            log.warn("Item search index commit failed, changes stay in memory until the next commit: {}",
+                    e.getMessage());
+        }
+    }
+
+    public int getIndexedCount() {
+        return indexWriter.getDocStats().numDocs;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+
+    private long indexAvailableItems() {
+        long count = 0;
+        try (Stream<Item> items = itemRepository.streamAllByAvailableTrue()) {
+            Iterator<Item> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                Item item = iterator.next();
+                indexWriter.updateDocument(new Term(ID, item.getId().toString()), toDocument(item));
+                if (++count % EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+
+    private void reindexChangedDuringRebuild() throws IOException {
+        for (Long ownerId : ownersRemovedDuringRebuild) {
+            indexWriter.deleteDocuments(new Term(OWNER_ID, ownerId.toString()));
+        }
+        Set<Long> itemIds = new HashSet<>(itemsChangedDuringRebuild);
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        List<Document> documents = transactionTemplate.execute(status -> {
+            List<Document> available = new ArrayList<>();
+            for (Item item : itemRepository.findAllById(itemIds)) {
+                if (Boolean.TRUE.equals(item.getAvailable())) {
+                    available.add(toDocument(item));
+                }
+            }
+            return available;
+        });
+        for (Long itemId : itemIds) {
+            indexWriter.deleteDocuments(new Term(ID, itemId.toString()));
+        }
+        for (Document document : documents) {
+            indexWriter.updateDocument(new Term(ID, document.get(ID)), document);
+        }
+    }
+
+    private List<String> analyze(String text) {
+        List<String> words = new ArrayList<>();
+        try (TokenStream tokens = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                words.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return words;
+    }
+
+    private static Query toQuery(List<String> words, boolean fuzzy) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String word : words) {
+            BooleanQuery.Builder wordQuery = new BooleanQuery.Builder();
+            addWordQueries(wordQuery, NAME, NAME_PREFIXES, word, NAME_BOOST, fuzzy);
+            addWordQueries(wordQuery, DESCRIPTION, DESCRIPTION_PREFIXES, word, 1f, fuzzy);
+            query.add(wordQuery.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private static void addWordQueries(BooleanQuery.Builder query, String field, String prefixField, String word,
+                                       float boost, boolean fuzzy) {
+        Term term = new Term(field, word);
+        query.add(new BoostQuery(new TermQuery(term), TERM_BOOST * boost), BooleanClause.Occur.SHOULD);
+        query.add(new BoostQuery(new TermQuery(new Term(prefixField, word)), PREFIX_BOOST * boost),
+                BooleanClause.Occur.SHOULD);
+        int maxEdits = getMaxEdits(word);
+        if (fuzzy && maxEdits > 0) {
+            query.add(new BoostQuery(new FuzzyQuery(term, maxEdits, FUZZY_PREFIX_LENGTH), FUZZY_BOOST * boost),
+                    BooleanClause.Occur.SHOULD);
+        }
+    }
+
+    private static int getMaxEdits(String word) {
+        if (word.length() < 3) {
+            return 0;
+        }
+        return word.length() < 4 ? 1 : 2;
+    }
+
+    private Document toDocument(Item item) {
+        Document document = new Document();
+        document.add(new StringField(ID, item.getId().toString(), Field.Store.YES));
+        document.add(new StringField(OWNER_ID, item.getOwner().getId().toString(), Field.Store.NO));
+        document.add(new TextField(NAME, item.getName(), Field.Store.YES));
+        document.add(new TextField(DESCRIPTION, item.getDescription(), Field.Store.YES));
+        document.add(new TextField(NAME_PREFIXES, getPrefixes(item.getName()), Field.Store.NO));
+        document.add(new TextField(DESCRIPTION_PREFIXES, getPrefixes(item.getDescription()), Field.Store.NO));
+        if (item.getRequest() != null) {
+            document.add(new StoredField(REQUEST_ID, item.getRequest().getId()));
+        }
+        return document;
+    }
+
+    private String getPrefixes(String text) {
+        StringBuilder prefixes = new StringBuilder();
+        for (String word : analyze(text)) {
+            for (int length = MIN_PREFIX_LENGTH; length <= Math.min(word.length(), MAX_PREFIX_LENGTH); length++) {
+                prefixes.append(word, 0, length).append(' ');
+            }
+        }
+        return prefixes.toString();
+    }
+
+    private static ItemDto toItemDto(Document document) {
+        IndexableField requestId = document.getField(REQUEST_ID);
+        return new ItemDto(Long.parseLong(document.get(ID)), document.get(NAME), document.get(DESCRIPTION), true,
+                requestId == null ? null : requestId.numericValue().longValue());
+    }
+
+    private void afterCommit(IndexAction action) {
+        Runnable run = () -> {
+            try {
+                action.run();
+                if (!rebuilding) {
+                    searcherManager.maybeRefresh();
+                }
+            } catch (IOException e) {
+                log.warn("Item search index update failed, it will be fixed by the next rebuild: {}",
+                        e.getMessage());
+            }
+        };
+        TransactionCallbacks.afterCommit(run);
+    }
+
+    private interface IndexAction {
+        void run() throws IOException;
+    }
+}
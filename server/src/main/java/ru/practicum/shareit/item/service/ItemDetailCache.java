@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.VersionedLruCache;
+import ru.practicum.shareit.item.dto.ItemDtoInfo;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import static ru.practicum.shareit.transaction.TransactionCallbacks.isReadOnlyOrNone;
+
+@Component
+public class ItemDetailCache {
+    private static final String CACHE_NAME = "shareit.item.detail.cache";
+
+    private final VersionedLruCache<Long, Entry> itemViews;
+    private final VersionedLruCache<Long, ItemDtoInfo> ownerViews;
+
+    public ItemDetailCache(MeterRegistry meterRegistry,
+                           @Value("${shareit.item.detail.cache.max-size}") int maxSize,
+                           @Value("${shareit.item.detail.cache.ttl}") Duration ttl,
+                           @Value("${shareit.item.detail.cache.owner.max-size}") int ownerMaxSize,
+                           @Value("${shareit.item.detail.cache.owner.ttl}") Duration ownerTtl) {
+        this.itemViews = new VersionedLruCache<>(CACHE_NAME, Tags.of("view", "public"), maxSize, ttl,
+                meterRegistry);
+        this.ownerViews = new VersionedLruCache<>(CACHE_NAME, Tags.of("view", "owner"), ownerMaxSize, ownerTtl,
+                meterRegistry);
+    }
+
+    public ItemDtoInfo get(Long itemId, Long userId, Supplier<ItemDetails> loader) {
+        if (!isReadOnlyOrNone()) {
+            return loader.get().getView(userId);
+        }
+        Entry entry = itemViews.getIfPresent(itemId);
+        if (entry != null && !entry.ownerId.equals(userId)) {
+            itemViews.recordHit();
+            return entry.itemDtoInfo;
+        }
+        ItemDtoInfo ownerItemDtoInfo = entry == null ? null : ownerViews.getIfPresent(itemId);
+        if (ownerItemDtoInfo != null) {
+            ownerViews.recordHit();
+            return ownerItemDtoInfo;
+        }
+        long itemVersion = itemViews.getVersion();
+        long ownerVersion = ownerViews.getVersion();
+        ItemDetails details = loader.get();
+        boolean owner = details.getOwnerId().equals(userId);
+        (owner ? ownerViews : itemViews).recordMiss();
+        itemViews.put(itemId, new Entry(details.getOwnerId(), details.getItemDtoInfo()), itemVersion);
+        ownerViews.put(itemId, details.getOwnerItemDtoInfo(), ownerVersion);
+        return details.getView(userId);
+    }
+
+    public void evict(Long itemId) {
+        itemViews.evict(itemId);
+        ownerViews.evict(itemId);
+    }
+
+    public void evictOwnerView(Long itemId) {
+        ownerViews.evict(itemId);
+    }
+
+    public void evictAll() {
+        itemViews.evictAll();
+        ownerViews.evictAll();
+    }
+
+    public int size() {
+        return itemViews.size() + ownerViews.size();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ItemDetails {
+        private final Long ownerId;
+        private final ItemDtoInfo itemDtoInfo;
+        private final ItemDtoInfo ownerItemDtoInfo;
+
+        private ItemDtoInfo getView(Long userId) {
+            return ownerId.equals(userId) ? ownerItemDtoInfo : itemDtoInfo;
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final Long ownerId;
+        private final ItemDtoInfo itemDtoInfo;
+    }
+}
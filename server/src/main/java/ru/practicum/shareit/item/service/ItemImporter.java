@@ -0,0 +1,143 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemImportLineDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.suggest.ItemSuggestIndex;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.Constant.ITEM_IMPORT_CHUNK_SIZE;
+import static ru.practicum.shareit.Constant.ITEM_IMPORT_ERRORS_MAX;
+
+@Component
+@Slf4j
+public class ItemImporter {
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearch itemSearch;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemSuggestIndex itemSuggestIndex;
+    private final ItemMapper itemMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public ItemImporter(ItemRepository itemRepository, ItemRequestRepository itemRequestRepository,
+                        ItemSearch itemSearch, ItemSearchCache itemSearchCache, ItemSuggestIndex itemSuggestIndex,
+                        ItemMapper itemMapper, ObjectMapper objectMapper,
+                        PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.itemSearch = itemSearch;
+        this.itemSearchCache = itemSearchCache;
+        this.itemSuggestIndex = itemSuggestIndex;
+        this.itemMapper = itemMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ItemImportResultDto importAll(User owner, InputStream inputStream) {
+        ItemImportResultDto result = new ItemImportResultDto(0L, 0L, 0L, new ArrayList<>());
+        List<ItemImportLineDto> chunk = new ArrayList<>(ITEM_IMPORT_CHUNK_SIZE);
+        try (MappingIterator<ItemImportLineDto> lines = objectMapper.readerFor(ItemImportLineDto.class)
+                .readValues(inputStream)) {
+            while (lines.hasNextValue()) {
+                ItemImportLineDto line = lines.nextValue();
+                result.setTotal(result.getTotal() + 1);
+                if (line.getError() != null) {
+                    addError(result, line, line.getError());
+                } else if (line.getItem() == null) {
+                    addError(result, line, "The item is missing");
+                } else {
+                    chunk.add(line);
+                }
+                if (chunk.size() == ITEM_IMPORT_CHUNK_SIZE) {
+                    importChunk(owner, chunk, result);
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Item import of the owner id={} stopped at a malformed line: {}", owner.getId(), e.getMessage());
+            throw new ValidationException("Malformed import line after line " + result.getTotal());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        importChunk(owner, chunk, result);
+        return result;
+    }
+
+    private void importChunk(User owner, List<ItemImportLineDto> chunk, ItemImportResultDto result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<ItemImportLineDto> notFound;
+        try {
+            notFound = transactionTemplate.execute(status -> insertChunk(owner, chunk));
+        } catch (DataAccessException e) {
+            log.warn("Items of lines {}-{} of the owner id={} were not saved: {}", chunk.get(0).getLine(),
+                    chunk.get(chunk.size() - 1).getLine(), owner.getId(), e.getMostSpecificCause().getMessage());
+            chunk.forEach(line -> addError(result, line, "The item could not be saved"));
+            return;
+        }
+        notFound.forEach(line -> addError(result, line, "Request id=" + line.getItem().getRequestId() +
+                " not found"));
+        result.setImported(result.getImported() + chunk.size() - notFound.size());
+    }
+
+    private List<ItemImportLineDto> insertChunk(User owner, List<ItemImportLineDto> chunk) {
+        Set<Long> requestIds = chunk.stream()
+                .map(line -> line.getItem().getRequestId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty() ? Map.of() : itemRequestRepository
+                .findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        List<Item> items = new ArrayList<>();
+        List<ItemImportLineDto> notFound = new ArrayList<>();
+        for (ItemImportLineDto line : chunk) {
+            Long requestId = line.getItem().getRequestId();
+            if (requestId != null && !requests.containsKey(requestId)) {
+                notFound.add(line);
+            } else {
+                items.add(itemMapper.toItem(line.getItem(), owner,
+                        requestId == null ? null : requests.get(requestId)));
+            }
+        }
+        itemRepository.insertAll(items);
+        if (!items.isEmpty()) {
+            itemSearch.indexAllAfterCommit(items);
+            itemSuggestIndex.addAfterCommit(items);
+            itemSearchCache.evictAll();
+        }
+        return notFound;
+    }
+
+    private static void addError(ItemImportResultDto result, ItemImportLineDto line, String error) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < ITEM_IMPORT_ERRORS_MAX) {
+            result.getErrors().add(new ItemImportLineDto(line.getLine(), line.getItem(), error));
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
+import ru.practicum.shareit.export.ExportFormat;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 public interface ItemService {
@@ -17,5 +24,17 @@ public interface ItemService {
 
     Collection<ItemDto> searchItems(String text, Long userId, Integer from, Integer size);
 
+    Collection<String> suggestItems(String prefix, Long userId, Integer limit);
+
+    void exportItems(Long userId, ExportFormat format, OutputStream outputStream);
+
+    ItemImportResultDto importItems(Long userId, InputStream inputStream);
+
+    Collection<TimeSlotDto> getItemAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to);
+
     CommentDto createComment(CommentDto commentDto, Long userId, Long itemId);
+
+    Collection<CommentDto> getComments(Long itemId, Long userId, Integer size);
+
+    Collection<CommentDto> getCommentsAfter(Long itemId, Long userId, KeysetCursor after, Integer size);
 }
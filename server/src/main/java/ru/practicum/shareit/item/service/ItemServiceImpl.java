@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -8,75 +9,97 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
-import ru.practicum.shareit.booking.dto.BookingDtoInfo;
-import ru.practicum.shareit.booking.dto.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.export.ExportFormat;
+import ru.practicum.shareit.export.ExportWriter;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.comment.CommentView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemOverviewView;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.suggest.ItemSuggestIndex;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManager;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import static ru.practicum.shareit.Constant.LAST;
-import static ru.practicum.shareit.Constant.NEXT;
+import static ru.practicum.shareit.Constant.ITEM_COMMENTS_LIMIT;
+import static ru.practicum.shareit.Constant.SUGGEST_LIMIT_MAX;
 import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ItemServiceImpl implements ItemService {
+    private static final Map<String, Function<ItemDto, Object>> EXPORT_COLUMNS = getExportColumns();
+
     private final ItemRepository itemRepository;
+    private final ItemSearch itemSearch;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemSuggestIndex itemSuggestIndex;
+    private final ItemDetailCache itemDetailCache;
+    private final ItemImporter itemImporter;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemMapper itemMapper;
-    private final BookingMapper bookingMapper;
     private final CommentMapper commentMapper;
+    private final BookingAvailability bookingAvailability;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
     @Transactional(readOnly = true)
     @Override
     public ItemDtoInfo getItemDtoById(Long itemId, Long userId) {
-        Item item = getItemById(itemId, userId);
-        List<Comment> comments = commentRepository.findAllByItem_Id(itemId).orElse(new ArrayList<>());
-        Map<Long, List<CommentDto>> commentsItem = getCommentDtoSortByIdItem(comments);
-
-        boolean isOwner = itemRepository.existsByIdAndOwner_Id(itemId, userId);
-        if (!isOwner) {
-            List<CommentDto> commentDto = commentsItem.isEmpty() ? new ArrayList<>() : commentsItem.get(item.getId());
-            return itemMapper.toOneItemDtoInfoForAllUsers(item, commentDto);
-        }
-
+        ItemDtoInfo itemDtoInfo = itemDetailCache.get(itemId, userId, () -> getItemDetails(itemId, userId));
         log.info("Information about the item id={} was obtained by the user id={}", itemId, userId);
-        return setBookingsForOwner(List.of(item), List.of(itemId), commentsItem).stream().findFirst().orElse(null);
+        return itemDtoInfo;
     }
 
     @Transactional(readOnly = true)
     @Override
     public Collection<ItemDtoInfo> getAllItemUser(Long userId, Integer from, Integer size) {
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Order.asc("id")));
-        List<Item> items = itemRepository.findAllByOwnerId(userId, pageable);
-        List<Long> itemsId = items.stream().map(Item::getId).collect(Collectors.toList());
-
-        List<Comment> comments = commentRepository.findAllByItem_IdIn(itemsId).orElse(new ArrayList<>());
-        Map<Long, List<CommentDto>> commentsItems = getCommentDtoSortByIdItem(comments);
+        Pageable pageable = PageRequest.of(from / size, size);
+        List<ItemOverviewView> items = itemRepository.findOverviewByOwnerId(userId, pageable.getOffset(),
+                pageable.getPageSize());
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> itemsId = items.stream().map(ItemOverviewView::getId).collect(Collectors.toList());
+        Map<Long, List<CommentView>> commentsItems = commentRepository
+                .findNewestByItemIdIn(itemsId, ITEM_COMMENTS_LIMIT).stream()
+                .collect(Collectors.groupingBy(CommentView::getItemId));
 
         log.info("All items have been received");
-        return setBookingsForOwner(items, itemsId, commentsItems);
+        return items.stream()
+                .map(item -> {
+                    List<CommentView> comments = commentsItems.getOrDefault(item.getId(), List.of());
+                    return itemMapper.toItemDtoInfo(item, toCommentDtoList(comments), getCommentCount(comments));
+                })
+                .collect(Collectors.toList());
     }
 
     @Transactional
@@ -90,6 +113,9 @@ public class ItemServiceImpl implements ItemService {
                 });
 
         Item item = itemRepository.save(itemMapper.toItem(itemDto, user, itemRequest));
+        itemSearch.indexAfterCommit(item);
+        itemSearchCache.evictChanged(null, item);
+        itemSuggestIndex.indexAfterCommit(null, item);
         log.info("Item has been created={}", item);
         return itemMapper.toItemDto(item);
     }
@@ -104,8 +130,14 @@ public class ItemServiceImpl implements ItemService {
             throw new NotFoundException("The item with this id=" + itemId + " not found");
         }
 
+        Item before = Item.builder().id(itemId).name(itemOld.getName()).description(itemOld.getDescription())
+                .available(itemOld.getAvailable()).build();
         setItemDto(itemOld, itemDtoNew, user);
         Item item = itemRepository.save(itemOld);
+        itemSearch.indexAfterCommit(item);
+        itemSearchCache.evictChanged(before, item);
+        itemSuggestIndex.indexAfterCommit(before, item);
+        itemDetailCache.evict(itemId);
         log.info("Item has been updated={}", item);
         return itemMapper.toItemDto(item);
     }
@@ -113,15 +145,77 @@ public class ItemServiceImpl implements ItemService {
     @Transactional(readOnly = true)
     @Override
     public Collection<ItemDto> searchItems(String text, Long userId, Integer from, Integer size) {
-        if (text.isEmpty()) {
+        String normalizedText = ItemSearchCache.normalize(text);
+        if (normalizedText.isEmpty()) {
             return new ArrayList<>();
         }
         Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Order.asc("id")));
-        Collection<Item> items = itemRepository
-                .findByAvailableTrueAndDescriptionContainsIgnoreCaseOrAvailableTrueAndNameContainsIgnoreCase(
-                        text, text, pageable);
+        Collection<ItemDto> items = itemSearchCache.get(normalizedText, pageable,
+                () -> itemSearch.search(normalizedText, pageable));
         log.info("Items={} by text={} received", items, text);
-        return itemMapper.toItemDtoCollection(items);
+        return items;
+    }
+
+    @Override
+    public Collection<String> suggestItems(String prefix, Long userId, Integer limit) {
+        if (limit < 1 || limit > SUGGEST_LIMIT_MAX) {
+            log.warn("User id={} requested {} suggestions, the limit is from 1 to {}", userId, limit,
+                    SUGGEST_LIMIT_MAX);
+            throw new ValidationException("The suggestion limit must be from 1 to " + SUGGEST_LIMIT_MAX);
+        }
+        List<String> suggestions = itemSuggestIndex.suggest(prefix, limit);
+        log.debug("Suggestions={} for prefix={} received by the user id={}", suggestions, prefix, userId);
+        return suggestions;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportItems(Long userId, ExportFormat format, OutputStream outputStream) {
+        getUserIfTheExists(userId);
+        ExportWriter<ItemDto> writer = new ExportWriter<>(format, outputStream, objectMapper, EXPORT_COLUMNS);
+        try (Stream<Item> items = itemRepository.streamAllByOwnerId(userId)) {
+            long count = writer.writeAll(items, itemMapper::toItemDto, entityManager::clear);
+            log.info("{} items were exported by the owner id={} in {}", count, userId, format);
+        }
+    }
+
+    @Override
+    public ItemImportResultDto importItems(Long userId, InputStream inputStream) {
+        User user = getUserIfTheExists(userId);
+        ItemImportResultDto result = itemImporter.importAll(user, inputStream);
+        log.info("{} of {} items were imported by the owner id={}, {} lines failed", result.getImported(),
+                result.getTotal(), userId, result.getFailed());
+        return result;
+    }
+
+    private static Map<String, Function<ItemDto, Object>> getExportColumns() {
+        Map<String, Function<ItemDto, Object>> columns = new LinkedHashMap<>();
+        columns.put("id", ItemDto::getId);
+        columns.put("name", ItemDto::getName);
+        columns.put("description", ItemDto::getDescription);
+        columns.put("available", ItemDto::getAvailable);
+        columns.put("request_id", ItemDto::getRequestId);
+        return columns;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Collection<TimeSlotDto> getItemAvailability(Long itemId, Long userId, LocalDateTime from,
+                                                       LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            log.warn("User id={} requested availability of item id={} with from={} not before to={}",
+                    userId, itemId, from, to);
+            throw new ValidationException("The start of the period must be before its end");
+        }
+        getUserIfTheExists(userId);
+        Boolean available = itemRepository.findAvailableById(itemId).orElseThrow(() -> {
+            log.warn("The item with this id={} not found for user id={}", itemId, userId);
+            throw new NotFoundException("The item with this id=" + itemId + " not found");
+        });
+        List<TimeSlotDto> freeSlots = available ? bookingAvailability.getFreeSlots(itemId, from, to) : List.of();
+        log.info("Availability of the item id={} from={} to={} was obtained by the user id={}",
+                itemId, from, to, userId);
+        return freeSlots;
     }
 
     @Override
@@ -136,18 +230,63 @@ public class ItemServiceImpl implements ItemService {
 
         Comment comment = commentMapper.toComment(commentDto, user, item);
         Comment commentSaved = commentRepository.save(comment);
+        itemDetailCache.evict(itemId);
         log.info("Created comment id={} about item={} by user id={}", commentSaved.getId(), itemId, userId);
         return commentMapper.toCommentDto(commentSaved);
     }
 
-    private Item getItemById(Long itemId, Long userId) {
-        Item item = itemRepository.findById(itemId).orElseThrow(() -> {
+    @Transactional(readOnly = true)
+    @Override
+    public Collection<CommentDto> getComments(Long itemId, Long userId, Integer size) {
+        List<CommentDto> comments = commentRepository.findAllDtoByItemId(itemId, PageRequest.of(0, size));
+        if (comments.isEmpty()) {
+            getExceptionIfItemNotExists(itemId, userId);
+        }
+        log.info("Comments about the item id={} were obtained by the user id={}", itemId, userId);
+        return comments;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Collection<CommentDto> getCommentsAfter(Long itemId, Long userId, KeysetCursor after, Integer size) {
+        List<CommentDto> comments = commentRepository.findAllDtoByItemIdAfter(itemId, after.getTimestamp(),
+                after.getId(), PageRequest.of(0, size));
+        if (comments.isEmpty()) {
+            getExceptionIfItemNotExists(itemId, userId);
+        }
+        log.info("Comments about the item id={} after={} were obtained by the user id={}", itemId, after, userId);
+        return comments;
+    }
+
+    private ItemDetailCache.ItemDetails getItemDetails(Long itemId, Long userId) {
+        ItemOverviewView item = itemRepository.findOverviewById(itemId)
+                .orElseThrow(() -> {
+                    log.warn("The item with this id={} not found for user id={}", itemId, userId);
+                    throw new NotFoundException("The item with this id=" + itemId + " not found");
+                });
+        List<CommentView> comments = commentRepository.findNewestByItemId(itemId, ITEM_COMMENTS_LIMIT);
+        List<CommentDto> commentDtos = toCommentDtoList(comments);
+        Long commentCount = getCommentCount(comments);
+        return new ItemDetailCache.ItemDetails(item.getOwnerId(),
+                itemMapper.toOneItemDtoInfoForAllUsers(item, commentDtos, commentCount),
+                itemMapper.toItemDtoInfo(item, commentDtos, commentCount));
+    }
+
+    private List<CommentDto> toCommentDtoList(List<CommentView> comments) {
+        return comments.stream()
+                .map(commentMapper::toCommentDto)
+                .collect(Collectors.toList());
+    }
+
+    private static Long getCommentCount(List<CommentView> comments) {
+        return comments.isEmpty() ? 0L : comments.get(0).getTotal();
+    }
+
+    private void getExceptionIfItemNotExists(Long itemId, Long userId) {
+        if (!itemRepository.existsById(itemId)) {
             log.warn("The item with this id={} not found for user id={}", itemId, userId);
             throw new NotFoundException("The item with this id=" + itemId + " not found");
-        });
-
-        log.info("The item with id={} was received user with id={}", itemId, userId);
-        return item;
+        }
     }
 
     private void setItemDto(Item itemOld, ItemDto itemDtoNew, User owner) {
@@ -163,72 +302,6 @@ public class ItemServiceImpl implements ItemService {
         itemOld.setOwner(owner);
     }
 
-    private Collection<ItemDtoInfo> setBookingsForOwner(List<Item> items, List<Long> itemsId,
-                                                        Map<Long, List<CommentDto>> commentsItem) {
-        LocalDateTime current = LocalDateTime.now();
-        List<Booking> nextBookings = bookingRepository.findNextBookingsForOwner(current, itemsId, APPROVED);
-        List<Booking> lastBookings = bookingRepository.findLastBookingsForOwner(current, itemsId, APPROVED);
-        return getItemDtoInfoForOwner(items, nextBookings, lastBookings, commentsItem);
-    }
-
-    private Collection<ItemDtoInfo> getItemDtoInfoForOwner(List<Item> items, List<Booking> next, List<Booking> last,
-                                                           Map<Long, List<CommentDto>> commentsItem) {
-        Map<String, Map<Long, BookingDtoInfo>> booking = getBookingDtoInfoMapByNextAndLast(next, last);
-        Map<Long, BookingDtoInfo> nextBooking = booking.get(NEXT);
-        Map<Long, BookingDtoInfo> lastBooking = booking.get(LAST);
-        return items.stream()
-                .map(item -> {
-                    BookingDtoInfo nextDto = null;
-                    BookingDtoInfo lastDto = null;
-                    List<CommentDto> commentDto = new ArrayList<>();
-                    if (nextBooking != null && nextBooking.containsKey(item.getId())) {
-                        nextDto = nextBooking.get(item.getId());
-                    }
-                    if (lastBooking != null && lastBooking.containsKey(item.getId())) {
-                        lastDto = lastBooking.get(item.getId());
-                    }
-                    if (commentsItem.containsKey(item.getId())) {
-                        commentDto = commentsItem.get(item.getId());
-                    }
-                    return itemMapper.toOneItemDtoInfoForOwner(item, nextDto, lastDto, commentDto);
-                }).sorted(Comparator.comparing(ItemDtoInfo::getId))
-                .collect(Collectors.toList());
-    }
-
-    private Map<String, Map<Long, BookingDtoInfo>> getBookingDtoInfoMapByNextAndLast(List<Booking> nextBookings,
-                                                                                     List<Booking> lastBookings) {
-        List<BookingDtoInfo> nextBookingDtoInfo = bookingMapper.toBookingDtoInfoList(nextBookings);
-        List<BookingDtoInfo> lastBookingDtoInfo = bookingMapper.toBookingDtoInfoList(lastBookings);
-
-        Map<Long, BookingDtoInfo> next = bookingMapper.toBookingDtoInfoMapByIdItem(nextBookingDtoInfo);
-        Map<Long, BookingDtoInfo> last = bookingMapper.toBookingDtoInfoMapByIdItem(lastBookingDtoInfo);
-        Map<String, Map<Long, BookingDtoInfo>> result = new HashMap<>();
-
-        if (!next.isEmpty()) {
-            result.put(NEXT, next);
-        }
-        if (!last.isEmpty()) {
-            result.put(LAST, last);
-        }
-        return result;
-    }
-
-    private Map<Long, List<CommentDto>> getCommentDtoSortByIdItem(List<Comment> comments) {
-        List<CommentDto> allCommentDtoItems = commentMapper.toCommentDtoList(comments);
-        Map<Long, List<CommentDto>> result = new HashMap<>();
-        allCommentDtoItems.forEach(commentDto -> {
-            List<CommentDto> comment = new ArrayList<>();
-            if (result.containsKey(commentDto.getItemId())) {
-                comment = result.get(commentDto.getItemId());
-                comment.add(commentDto);
-            } else {
-                comment.add(commentDto);
-            }
-            result.put(commentDto.getItemId(), comment);
-        });
-        return result;
-    }
-
     private User getUserIfTheExists(Long userId) {
         return userRepository.findById(userId).stream().findFirst().orElseThrow(() -> {
             log.warn("User with id={} not found", userId);
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.item.suggest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.transaction.TransactionCallbacks;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class ItemSuggestIndex {
+    private static final String WORD_SEPARATOR = "[^\\p{L}\\p{N}]+";
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int topK;
+    private final List<Map<String, Integer>> changedDuringRebuild = new ArrayList<>();
+    private volatile PrefixTrie trie;
+    private boolean rebuilding;
+
+    public ItemSuggestIndex(ItemRepository itemRepository, PlatformTransactionManager transactionManager,
+                            @Value("${shareit.item.suggest.top-k}") int topK) {
+        this.itemRepository = itemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.topK = topK;
+        this.trie = new PrefixTrie(topK);
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        String text = prefix.stripLeading().toLowerCase(Locale.ROOT);
+        int lastSeparator = text.length() - 1;
+        while (lastSeparator >= 0 && Character.isLetterOrDigit(text.charAt(lastSeparator))) {
+            lastSeparator--;
+        }
+        String word = text.substring(lastSeparator + 1);
+        if (word.isEmpty()) {
+            return List.of();
+        }
+        String before = text.substring(0, lastSeparator + 1);
+        return trie.get(word, Math.min(limit, topK)).stream()
+                .map(suggestion -> before + suggestion.getToken())
+                .collect(Collectors.toList());
+    }
+
+    public void indexAfterCommit(Item before, Item after) {
+        Map<String, Integer> deltas = new HashMap<>();
+        if (before != null && Boolean.TRUE.equals(before.getAvailable())) {
+            getTokens(before.getName()).forEach(token -> deltas.merge(token, -1, Integer::sum));
+        }
+        if (Boolean.TRUE.equals(after.getAvailable())) {
+            getTokens(after.getName()).forEach(token -> deltas.merge(token, 1, Integer::sum));
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        afterCommit(deltas);
+    }
+
+    public void addAfterCommit(Collection<Item> items) {
+        Map<String, Integer> deltas = new HashMap<>();
+        items.stream()
+                .filter(item -> Boolean.TRUE.equals(item.getAvailable()))
+                .forEach(item -> getTokens(item.getName()).forEach(token -> deltas.merge(token, 1, Integer::sum)));
+        afterCommit(deltas);
+    }
+
+    public void removeAfterCommit(Collection<String> names) {
+        Map<String, Integer> deltas = new HashMap<>();
+        names.forEach(name -> getTokens(name).forEach(token -> deltas.merge(token, -1, Integer::sum)));
+        afterCommit(deltas);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public long rebuild() {
+        synchronized (this) {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        }
+        PrefixTrie rebuilt = new PrefixTrie(topK);
+        try {
+            long count = transactionTemplate.execute(status -> addAvailableNames(rebuilt));
+            rebuilt.computeTops();
+            synchronized (this) {
+                changedDuringRebuild.forEach(deltas -> apply(rebuilt, deltas));
+                trie = rebuilt;
+            }
+            log.info("Item suggestions rebuilt from {} available items", count);
+            return count;
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            }
+        }
+    }
+
+    private long addAvailableNames(PrefixTrie rebuilt) {
+        long count = 0;
+        try (Stream<String> names = itemRepository.streamAvailableNames()) {
+            Iterator<String> iterator = names.iterator();
+            while (iterator.hasNext()) {
+                getTokens(iterator.next()).forEach(rebuilt::increment);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void afterCommit(Map<String, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> apply(deltas));
+    }
+
+    private synchronized void apply(Map<String, Integer> deltas) {
+        apply(trie, deltas);
+        if (rebuilding) {
+            changedDuringRebuild.add(deltas);
+        }
+    }
+
+    private static void apply(PrefixTrie trie, Map<String, Integer> deltas) {
+        deltas.forEach(trie::add);
+    }
+
+    private static Set<String> getTokens(String name) {
+        return Arrays.stream(name.toLowerCase(Locale.ROOT).split(WORD_SEPARATOR))
+                .filter(token -> token.length() >= MIN_TOKEN_LENGTH)
+                .collect(Collectors.toSet());
+    }
+}
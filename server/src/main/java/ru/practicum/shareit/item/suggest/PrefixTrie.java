@@ -0,0 +1,159 @@
+package ru.practicum.shareit.item.suggest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+class PrefixTrie {
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+    private static final Comparator<Suggestion> BY_COUNT = Comparator.comparingInt(Suggestion::getCount).reversed()
+            .thenComparing(Suggestion::getToken);
+
+    private final int topK;
+    private final Node root = new Node('\0');
+
+    PrefixTrie(int topK) {
+        this.topK = topK;
+    }
+
+    List<Suggestion> get(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.getChild(prefix.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        Suggestion[] top = node.top;
+        return Arrays.asList(top).subList(0, Math.min(limit, top.length));
+    }
+
+    void add(String token, int delta) {
+        List<Node> path = new ArrayList<>(token.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < token.length(); i++) {
+            node = node.getOrAddChild(token.charAt(i));
+            path.add(node);
+        }
+        node.count = Math.max(0, node.count + delta);
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node current = path.get(i);
+            current.top = getTop(current, token.substring(0, i));
+            if (i > 0 && current.count == 0 && current.children.length == 0) {
+                path.get(i - 1).removeChild(current.key);
+            }
+        }
+    }
+
+    void increment(String token) {
+        Node node = root;
+        for (int i = 0; i < token.length(); i++) {
+            node = node.getOrAddChild(token.charAt(i));
+        }
+        node.count++;
+    }
+
+    void computeTops() {
+        computeTops(root, new StringBuilder());
+    }
+
+    private void computeTops(Node node, StringBuilder token) {
+        for (Node child : node.children) {
+            token.append(child.key);
+            computeTops(child, token);
+            token.setLength(token.length() - 1);
+        }
+        node.top = getTop(node, token.toString());
+    }
+
+    private Suggestion[] getTop(Node node, String token) {
+        if (node.count == 0 && node.children.length == 1) {
+            return node.children[0].top;
+        }
+        List<Suggestion> candidates = new ArrayList<>();
+        if (node.count > 0) {
+            candidates.add(new Suggestion(token, node.count));
+        }
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        if (candidates.isEmpty()) {
+            return NO_SUGGESTIONS;
+        }
+        candidates.sort(BY_COUNT);
+        return candidates.subList(0, Math.min(topK, candidates.size())).toArray(NO_SUGGESTIONS);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Suggestion {
+        private final String token;
+        private final int count;
+    }
+
+    private static class Node {
+        private final char key;
+        private volatile Node[] children = NO_CHILDREN;
+        private volatile Suggestion[] top = NO_SUGGESTIONS;
+        private int count;
+
+        private Node(char key) {
+            this.key = key;
+        }
+
+        private Node getChild(char key) {
+            Node[] nodes = children;
+            int index = indexOf(nodes, key);
+            return index < 0 ? null : nodes[index];
+        }
+
+        private Node getOrAddChild(char key) {
+            int index = indexOf(children, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            Node child = new Node(key);
+            Node[] nodes = new Node[children.length + 1];
+            System.arraycopy(children, 0, nodes, 0, insertAt);
+            nodes[insertAt] = child;
+            System.arraycopy(children, insertAt, nodes, insertAt + 1, children.length - insertAt);
+            children = nodes;
+            return child;
+        }
+
+        private void removeChild(char key) {
+            int index = indexOf(children, key);
+            if (index < 0) {
+                return;
+            }
+            Node[] nodes = new Node[children.length - 1];
+            System.arraycopy(children, 0, nodes, 0, index);
+            System.arraycopy(children, index + 1, nodes, index, children.length - index - 1);
+            children = nodes;
+        }
+
+        private static int indexOf(Node[] nodes, char key) {
+            int low = 0;
+            int high = nodes.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char middleKey = nodes[middle].key;
+                if (middleKey < key) {
+                    low = middle + 1;
+                } else if (middleKey > key) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
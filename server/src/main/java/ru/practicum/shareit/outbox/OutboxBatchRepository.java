@@ -0,0 +1,7 @@
+package ru.practicum.shareit.outbox;
+
+import java.util.List;
+
+public interface OutboxBatchRepository {
+    void insertAll(List<OutboxEvent> events);
+}
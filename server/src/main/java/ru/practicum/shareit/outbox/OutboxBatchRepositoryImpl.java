@@ -0,0 +1,27 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class OutboxBatchRepositoryImpl implements OutboxBatchRepository {
+    private static final String INSERT_EVENT = "INSERT INTO outbox_event " +
+            "(aggregate_id, event_type, payload, created, attempts) VALUES (?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, BATCH_SIZE, (statement, event) -> {
+            statement.setLong(1, event.getAggregateId());
+            statement.setString(2, event.getType().name());
+            statement.setString(3, event.getPayload());
+            statement.setTimestamp(4, Timestamp.valueOf(event.getCreated()));
+            statement.setInt(5, event.getAttempts());
+        });
+    }
+}
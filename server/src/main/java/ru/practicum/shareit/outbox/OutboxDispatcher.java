@@ -0,0 +1,127 @@
+package ru.practicum.shareit.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class OutboxDispatcher {
+    private final OutboxRepository outboxRepository;
+    private final List<OutboxListener> listeners;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retention;
+    private final Timer lagTimer;
+    private final Counter failureCounter;
+    private final Counter exhaustedCounter;
+    private final AtomicLong oldestPendingAgeMillis = new AtomicLong();
+
+    public OutboxDispatcher(OutboxRepository outboxRepository, List<OutboxListener> listeners,
+                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                            @Value("${shareit.outbox.batch-size}") int batchSize,
+                            @Value("${shareit.outbox.max-attempts}") int maxAttempts,
+                            @Value("${shareit.outbox.retention}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.listeners = listeners;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retention = retention;
+        this.lagTimer = Timer.builder("shareit.outbox.dispatch.lag")
+                .description("Time from writing an outbox event to delivering it to the listeners")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("shareit.outbox.dispatch.failures")
+                .description("Outbox event deliveries failed by a listener")
+                .register(meterRegistry);
+        this.exhaustedCounter = Counter.builder("shareit.outbox.dispatch.exhausted")
+                .description("Outbox events marked failed after the last allowed delivery attempt")
+                .register(meterRegistry);
+        Gauge.builder("shareit.outbox.pending.age", oldestPendingAgeMillis, AtomicLong::get)
+                .description("Age of the oldest pending outbox event seen by the last poll")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        if (listeners.isEmpty()) {
+            log.warn("No outbox listener is registered, outbox events stay pending until one is");
+        }
+    }
+
+    public int dispatchPending() {
+        if (listeners.isEmpty()) {
+            return 0;
+        }
+        int total = 0;
+        int dispatched;
+        do {
+            dispatched = transactionTemplate.execute(status -> dispatchBatch());
+            total += dispatched;
+        } while (dispatched == batchSize);
+        return total;
+    }
+
+    public int deleteDispatched() {
+        int deleted = transactionTemplate.execute(status ->
+                outboxRepository.deleteDispatchedOrFailedBefore(LocalDateTime.now().minus(retention)));
+        log.info("Deleted {} outbox events dispatched or failed more than {} ago", deleted, retention);
+        return deleted;
+    }
+
+    private int dispatchBatch() {
+        List<OutboxEvent> events = outboxRepository.findPendingForUpdate(PageRequest.of(0, batchSize));
+        LocalDateTime polled = LocalDateTime.now();
+        oldestPendingAgeMillis.set(events.isEmpty() ? 0 : Duration.between(events.get(0).getCreated(), polled)
+                .toMillis());
+
+        List<Long> dispatchedIds = new ArrayList<>();
+        List<Long> failedIds = new ArrayList<>();
+        List<Long> exhaustedIds = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            try {
+                listeners.forEach(listener -> listener.onEvent(event));
+            } catch (RuntimeException e) {
+                failedIds.add(event.getId());
+                failureCounter.increment();
+                log.warn("Outbox event id={} {} delivery failed, attempt {} of {}: {}", event.getId(),
+                        event.getType(), event.getAttempts() + 1, maxAttempts, e.getMessage());
+                if (event.getAttempts() + 1 >= maxAttempts) {
+                    exhaustedIds.add(event.getId());
+                }
+                continue;
+            }
+            dispatchedIds.add(event.getId());
+            lagTimer.record(Duration.between(event.getCreated(), LocalDateTime.now()).toNanos(),
+                    TimeUnit.NANOSECONDS);
+        }
+
+        if (!dispatchedIds.isEmpty()) {
+            outboxRepository.markDispatched(dispatchedIds, LocalDateTime.now());
+        }
+        if (!failedIds.isEmpty()) {
+            outboxRepository.incrementAttempts(failedIds);
+        }
+        if (!exhaustedIds.isEmpty()) {
+            outboxRepository.markFailed(exhaustedIds, LocalDateTime.now());
+            exhaustedCounter.increment(exhaustedIds.size());
+            log.warn("Outbox events {} marked failed after {} delivery attempts", exhaustedIds, maxAttempts);
+        }
+        if (!events.isEmpty()) {
+            log.debug("Dispatched {} of {} outbox events", dispatchedIds.size(), events.size());
+        }
+        return dispatchedIds.size();
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_event")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id")
+    private Long id;
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type")
+    private OutboxEventType type;
+    @ToString.Exclude
+    private String payload;
+    private LocalDateTime created;
+    private LocalDateTime dispatched;
+    private LocalDateTime failed;
+    private Integer attempts;
+}
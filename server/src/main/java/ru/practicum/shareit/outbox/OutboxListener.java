@@ -0,0 +1,5 @@
+package ru.practicum.shareit.outbox;
+
+public interface OutboxListener {
+    void onEvent(OutboxEvent event);
+}
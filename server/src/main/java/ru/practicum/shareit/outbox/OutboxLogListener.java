@@ -0,0 +1,16 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.log-listener.enabled", havingValue = "true")
+@Slf4j
+public class OutboxLogListener implements OutboxListener {
+    @Override
+    public void onEvent(OutboxEvent event) {
+        log.info("Outbox event id={} {} aggregate id={}: {}", event.getId(), event.getType(),
+                event.getAggregateId(), event.getPayload());
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.dispatcher.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxPoller {
+    private final OutboxDispatcher outboxDispatcher;
+
+    @Scheduled(fixedDelayString = "${shareit.outbox.poll-interval}")
+    public void poll() {
+        try {
+            outboxDispatcher.dispatchPending();
+        } catch (DataAccessException e) {
+            log.warn("Outbox poll failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${shareit.outbox.cleanup-cron}")
+    public void cleanup() {
+        try {
+            outboxDispatcher.deleteDispatched();
+        } catch (DataAccessException e) {
+            log.warn("Outbox cleanup failed: {}", e.getMessage());
+        }
+    }
+}
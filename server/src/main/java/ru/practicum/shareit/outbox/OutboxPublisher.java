@@ -0,0 +1,53 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEventType type, Long aggregateId, Object payload) {
+        outboxRepository.save(toEvent(type, aggregateId, payload, LocalDateTime.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> void publishAll(OutboxEventType type, Collection<T> payloads, Function<T, Long> aggregateId) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        LocalDateTime created = LocalDateTime.now();
+        List<OutboxEvent> events = payloads.stream()
+                .map(payload -> toEvent(type, aggregateId.apply(payload), payload, created))
+                .collect(Collectors.toList());
+        outboxRepository.insertAll(events);
+    }
+
+    private OutboxEvent toEvent(OutboxEventType type, Long aggregateId, Object payload, LocalDateTime created) {
+        try {
+            return OutboxEvent.builder()
+                    .aggregateId(aggregateId)
+                    .type(type)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .created(created)
+                    .attempts(0)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.*;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+
+import static ru.practicum.shareit.Constant.DATE_FORMAT;
+
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class KeysetCursor {
+    private static final String SEPARATOR = ",";
+
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    public static KeysetCursor of(LocalDateTime timestamp, Long id) {
+        return new KeysetCursor(timestamp.truncatedTo(ChronoUnit.MICROS), id);
+    }
+
+    public static KeysetCursor parse(String after) {
+        String[] parts = after.split(SEPARATOR);
+        if (parts.length != 2) {
+            throw new ValidationException("Invalid cursor: " + after);
+        }
+        try {
+            return of(LocalDateTime.parse(parts[0], DATE_FORMAT), Long.parseLong(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new ValidationException("Invalid cursor: " + after);
+        }
+    }
+
+    public String format() {
+        return timestamp.format(DATE_FORMAT) + SEPARATOR + id;
+    }
+}
@@ -8,9 +8,16 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.service.ItemDetailCache;
+import ru.practicum.shareit.item.suggest.ItemSuggestIndex;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
@@ -19,12 +26,22 @@ import ru.practicum.shareit.user.model.User;
 import java.util.Collection;
 import java.util.List;
 
+import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.BookingStatus.WAITING;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingAvailability bookingAvailability;
     private final UserMapper userMapper;
+    private final ItemSearch itemSearch;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemSuggestIndex itemSuggestIndex;
+    private final ItemDetailCache itemDetailCache;
 
     @Transactional(readOnly = true)
     public UserDto getUserById(Long userId) {
@@ -73,7 +90,11 @@ public class UserServiceImpl implements UserService {
         });
 
         getExceptionIfEmailExistsAndItIsAlien(userDtoNew.getEmail(), userOld.getEmail());
+        String nameOld = userOld.getName();
         User updatedUser = userRepository.save(setUser(userOld, userDtoNew));
+        if (!nameOld.equals(updatedUser.getName())) {
+            itemDetailCache.evictAll();
+        }
         log.info("User has been updated={}", updatedUser);
         return userMapper.toUserDto(updatedUser);
     }
@@ -82,7 +103,14 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteUserById(Long userId) {
         log.info("User with id={} deleted", userId);
+        List<String> itemNames = itemRepository.findAvailableNamesByOwnerId(userId);
+        List<Long> bookingIds = bookingRepository.findIdsByBookerOrOwnerAndStatusIn(userId, List.of(APPROVED, WAITING));
         userRepository.deleteById(userId);
+        bookingAvailability.removeAllAfterCommit(bookingIds);
+        itemSuggestIndex.removeAfterCommit(itemNames);
+        itemSearch.removeOwnerAfterCommit(userId);
+        itemSearchCache.evictAll();
+        itemDetailCache.evictAll();
     }
 
     private void getExceptionIfEmailExistsAndItIsAlien(String emailNew, String emailOld) {
@@ -0,0 +1,22 @@
+CREATE TABLE IF NOT EXISTS booking
+(
+    booking_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    time_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    time_end   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id    BIGINT NOT NULL,
+    user_id    BIGINT NOT NULL,
+    status     VARCHAR(10) NOT NULL,
+    CONSTRAINT pk_booking PRIMARY KEY (booking_id),
+    CONSTRAINT fk_booking_to_item FOREIGN KEY (item_id) REFERENCES item (item_id) ON DELETE CASCADE,
+    CONSTRAINT fk_booking_to_users FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_booking_user_start ON booking (user_id, time_start DESC, booking_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_booking_user_status_start ON booking (user_id, status, time_start DESC);
+
+CREATE INDEX IF NOT EXISTS idx_booking_item_status_start ON booking (item_id, status, time_start);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_event_pending ON outbox_event (dispatched, event_id);
+
+CREATE INDEX IF NOT EXISTS idx_item_next_booking_start ON item (next_booking_start);
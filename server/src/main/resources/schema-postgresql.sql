@@ -0,0 +1,121 @@
+DO '
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass(''booking'') AND relkind = ''r'') THEN
+        ALTER TABLE booking RENAME TO booking_unpartitioned;
+        ALTER TABLE booking_unpartitioned DROP CONSTRAINT IF EXISTS ex_booking_item_approved;
+        ALTER TABLE booking_unpartitioned RENAME CONSTRAINT pk_booking TO pk_booking_unpartitioned;
+        DROP INDEX IF EXISTS idx_booking_user_start, idx_booking_user_status_start,
+            idx_booking_item_status_start, idx_booking_item_start_waiting;
+    END IF;
+END';
+
+CREATE TABLE IF NOT EXISTS booking
+(
+    booking_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    time_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    time_end   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id    BIGINT NOT NULL,
+    user_id    BIGINT NOT NULL,
+    status     VARCHAR(10) NOT NULL,
+    CONSTRAINT pk_booking PRIMARY KEY (booking_id, time_start),
+    CONSTRAINT fk_booking_to_item FOREIGN KEY (item_id) REFERENCES item (item_id) ON DELETE CASCADE,
+    CONSTRAINT fk_booking_to_users FOREIGN KEY (user_id) REFERENCES users (user_id)
+) PARTITION BY RANGE (time_start);
+
+CREATE TABLE IF NOT EXISTS booking_default PARTITION OF booking DEFAULT;
+
+CREATE SCHEMA IF NOT EXISTS booking_archive;
+
+DO '
+BEGIN
+    IF to_regclass(''booking_unpartitioned'') IS NOT NULL THEN
+        INSERT INTO booking (booking_id, time_start, time_end, item_id, user_id, status)
+        SELECT booking_id, time_start, time_end, item_id, user_id, status FROM booking_unpartitioned;
+        PERFORM setval(pg_get_serial_sequence(''booking'', ''booking_id''),
+            (SELECT COALESCE(MAX(booking_id), 0) + 1 FROM booking), false);
+        DROP TABLE booking_unpartitioned;
+    END IF;
+END';
+
+CREATE INDEX IF NOT EXISTS idx_booking_user_start ON booking (user_id, time_start DESC, booking_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_booking_user_status_start ON booking (user_id, status, time_start DESC);
+
+CREATE INDEX IF NOT EXISTS idx_booking_item_status_start ON booking (item_id, status, time_start);
+
+CREATE INDEX IF NOT EXISTS idx_booking_item_start_waiting ON booking (item_id, time_start DESC)
+    WHERE status = 'WAITING';
+
+CREATE INDEX IF NOT EXISTS idx_booking_start_waiting ON booking (time_start, booking_id)
+    WHERE status = 'WAITING';
+
+CREATE INDEX IF NOT EXISTS idx_outbox_event_pending ON outbox_event (event_id)
+    WHERE dispatched IS NULL;
+
+ALTER TABLE item ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (setweight(to_tsvector('simple', name), 'A') ||
+                         setweight(to_tsvector('simple', description), 'B')) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_item_search_vector_available ON item USING gin (search_vector)
+    WHERE available = TRUE;
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Exclusion constraints cannot span partitions: each partition gets its own, and BookingPartitionMaintenance adds
+-- it to every partition it creates. Overlaps across a partition boundary are caught by tr_booking_item_approved.
+DO '
+DECLARE
+    partition_name TEXT;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = ''booking''::regclass AND NOT EXISTS (
+            SELECT 1 FROM pg_constraint x WHERE x.conrelid = c.oid AND x.contype = ''x'')
+    LOOP
+        EXECUTE format(''ALTER TABLE %I ADD CONSTRAINT %I EXCLUDE USING gist '' ||
+            ''(item_id WITH =, tsrange(time_start, time_end) WITH &&) WHERE (status = ''''APPROVED'''')'',
+            partition_name, ''ex_'' || partition_name || ''_item_approved'');
+    END LOOP;
+END';
+
+CREATE OR REPLACE FUNCTION check_booking_item_approved() RETURNS TRIGGER LANGUAGE plpgsql AS '
+BEGIN
+    PERFORM 1 FROM item WHERE item_id = NEW.item_id FOR NO KEY UPDATE;
+    IF EXISTS (SELECT 1 FROM booking
+               WHERE item_id = NEW.item_id AND status = ''APPROVED'' AND booking_id <> NEW.booking_id
+                 AND time_start < NEW.time_end AND time_end > NEW.time_start) THEN
+        RAISE EXCEPTION USING ERRCODE = ''exclusion_violation'', CONSTRAINT = ''tr_booking_item_approved'',
+            MESSAGE = ''Booking id='' || NEW.booking_id || '' overlaps an approved booking of item id='' || NEW.item_id;
+    END IF;
+    RETURN NULL;
+END';
+
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = ''tr_booking_item_approved''
+                   AND tgrelid = ''booking''::regclass) THEN
+        CREATE CONSTRAINT TRIGGER tr_booking_item_approved AFTER INSERT OR UPDATE ON booking
+            FOR EACH ROW WHEN (NEW.status = ''APPROVED'') EXECUTE FUNCTION check_booking_item_approved();
+    END IF;
+END';
+
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_name = ''item'' AND column_name = ''next_booking_id'') THEN
+        ALTER TABLE item ADD COLUMN last_booking_id BIGINT,
+            ADD COLUMN last_booking_start TIMESTAMP WITHOUT TIME ZONE,
+            ADD COLUMN next_booking_id BIGINT,
+            ADD COLUMN next_booking_start TIMESTAMP WITHOUT TIME ZONE;
+        UPDATE item i SET (last_booking_id, last_booking_start) = (
+            SELECT b.booking_id, b.time_start FROM booking b
+            WHERE b.item_id = i.item_id AND b.status = ''APPROVED'' AND b.time_start < LOCALTIMESTAMP
+            ORDER BY b.time_start DESC, b.booking_id LIMIT 1), (next_booking_id, next_booking_start) = (
+            SELECT b.booking_id, b.time_start FROM booking b
+            WHERE b.item_id = i.item_id AND b.status = ''APPROVED'' AND b.time_start >= LOCALTIMESTAMP
+            ORDER BY b.time_start, b.booking_id LIMIT 1);
+    END IF;
+END';
+
+CREATE INDEX IF NOT EXISTS idx_item_next_booking_start ON item (next_booking_start)
+    WHERE next_booking_start IS NOT NULL;
@@ -18,12 +18,16 @@ CREATE TABLE IF NOT EXISTS request
 
 CREATE TABLE IF NOT EXISTS item
 (
-    item_id     BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
-    name        VARCHAR(255) NOT NULL,
-    description VARCHAR(255) NOT NULL,
-    available   BOOLEAN NOT NULL,
-    user_id     BIGINT NOT NULL,
-    request_id  BIGINT,
+    item_id            BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    name               VARCHAR(255) NOT NULL,
+    description        VARCHAR(255) NOT NULL,
+    available          BOOLEAN NOT NULL,
+    user_id            BIGINT NOT NULL,
+    request_id         BIGINT,
+    last_booking_id    BIGINT,
+    last_booking_start TIMESTAMP WITHOUT TIME ZONE,
+    next_booking_id    BIGINT,
+    next_booking_start TIMESTAMP WITHOUT TIME ZONE,
     CONSTRAINT pk_item PRIMARY KEY (item_id),
     CONSTRAINT fk_item_to_users FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE CASCADE,
     CONSTRAINT fk_item_to_request FOREIGN KEY (request_id) REFERENCES request (request_id)
@@ -41,15 +45,23 @@ CREATE TABLE IF NOT EXISTS comment
     CONSTRAINT fk_comment_to_users FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE CASCADE
 );
 
-CREATE TABLE IF NOT EXISTS booking
+CREATE TABLE IF NOT EXISTS outbox_event
 (
-    booking_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
-    time_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    time_end   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-    item_id    BIGINT NOT NULL,
-    user_id    BIGINT NOT NULL,
-    status     VARCHAR(10) NOT NULL,
-    CONSTRAINT pk_booking PRIMARY KEY (booking_id),
-    CONSTRAINT fk_booking_to_item FOREIGN KEY (item_id) REFERENCES item (item_id) ON DELETE CASCADE,
-    CONSTRAINT fk_booking_to_users FOREIGN KEY (user_id) REFERENCES users (user_id)
-);
\ No newline at end of file
+    event_id     BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type   VARCHAR(64) NOT NULL,
+    payload      VARCHAR NOT NULL,
+    created      TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    dispatched   TIMESTAMP WITHOUT TIME ZONE,
+    attempts     INTEGER NOT NULL DEFAULT 0,
+    failed       TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_outbox_event PRIMARY KEY (event_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_request_user_created ON request (user_id, created DESC);
+
+CREATE INDEX IF NOT EXISTS idx_item_user ON item (user_id, item_id);
+
+CREATE INDEX IF NOT EXISTS idx_item_request ON item (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_comment_item_created ON comment (item_id, created DESC, comment_id DESC);
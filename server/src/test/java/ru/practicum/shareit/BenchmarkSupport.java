@@ -0,0 +1,109 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static ru.practicum.shareit.Constant.FIXED_TIME;
+import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
+
+@RequiredArgsConstructor
+public class BenchmarkSupport {
+    private static final String SELECT_LAST_AND_NEXT_BOOKINGS = "SELECT r.booking_id FROM " +
+            "(SELECT b.*, ROW_NUMBER() OVER (" +
+            "PARTITION BY b.item_id, CASE WHEN b.time_start < :current THEN 0 ELSE 1 END " +
+            "ORDER BY CASE WHEN b.time_start < :current THEN NULL ELSE b.time_start END, " +
+            "b.time_start DESC, b.booking_id) AS position " +
+            "FROM booking b WHERE b.item_id IN (:itemIds) AND b.status = :status) r " +
+            "WHERE r.position = 1";
+
+    private final EntityManager entityManager;
+    private final int warmup;
+    private final int iterations;
+
+    public static List<Item> saveItems(ItemRepository itemRepository, User owner, int count) {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(new Item(null, "saw" + i, "wood saw", true, owner, null));
+        }
+        return itemRepository.saveAll(items);
+    }
+
+    public static List<Booking> saveBookings(BookingRepository bookingRepository, List<Item> items, User booker,
+                                             int bookingsPerItem) {
+        BookingStatus[] statuses = BookingStatus.values();
+        List<Booking> bookings = new ArrayList<>();
+        for (Item item : items) {
+            for (int j = 0; j < bookingsPerItem; j++) {
+                bookings.add(new Booking(null, FIXED_TIME.plusDays(j - bookingsPerItem / 2L),
+                        FIXED_TIME.plusDays(j - bookingsPerItem / 2L + 1), item, booker,
+                        statuses[bookings.size() % statuses.length]));
+            }
+        }
+        return bookingRepository.saveAll(bookings);
+    }
+
+    public List<ItemDto> findItemsByOwnerId(Long ownerId, int limit) {
+        return entityManager.createQuery(ItemRepository.SELECT_ITEM_DTO + "WHERE i.owner.id = :ownerId ORDER BY i.id",
+                        ItemDto.class)
+                .setParameter("ownerId", ownerId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<?> findLastAndNextBookings(LocalDateTime current, List<Long> itemIds) {
+        return entityManager.createNativeQuery(SELECT_LAST_AND_NEXT_BOOKINGS)
+                .setParameter("current", current)
+                .setParameter("itemIds", itemIds)
+                .setParameter("status", APPROVED.name())
+                .getResultList();
+    }
+
+    public void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    public long measure(int expectedSize, Supplier<? extends Collection<?>> query) {
+        for (int i = 0; i < warmup; i++) {
+            assertThat(query.get(), hasSize(expectedSize));
+            entityManager.clear();
+        }
+        return measure(query::get, 0);
+    }
+
+    public long measure(Runnable query) {
+        return measure(query, warmup);
+    }
+
+    private long measure(Runnable query, int warmupRuns) {
+        for (int i = 0; i < warmupRuns; i++) {
+            query.run();
+            entityManager.clear();
+        }
+        long[] timings = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            query.run();
+            timings[i] = (System.nanoTime() - start) / 1000;
+            entityManager.clear();
+        }
+        Arrays.sort(timings);
+        return timings[iterations / 2];
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.Constant.FIXED_TIME;
+import static ru.practicum.shareit.booking.BookingStatus.WAITING;
+
+public class BookingAvailabilityTest {
+    private BookingAvailability bookingAvailability;
+
+    @BeforeEach
+    public void setUp() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.findAllIntervalsByStatusInAndEndAfter(any(), any())).thenReturn(List.of(
+                new BookedInterval(1L, 1L, FIXED_TIME.plusDays(1), FIXED_TIME.plusDays(3)),
+                new BookedInterval(2L, 1L, FIXED_TIME.plusDays(2), FIXED_TIME.plusDays(4)),
+                new BookedInterval(3L, 1L, FIXED_TIME.plusDays(6), FIXED_TIME.plusDays(7)),
+                new BookedInterval(4L, 2L, FIXED_TIME, FIXED_TIME.plusDays(10))
+        ));
+        bookingAvailability = new BookingAvailability(bookingRepository);
+        bookingAvailability.load();
+    }
+
+    @DisplayName("Должен вернуть свободные интервалы между бронированиями вещи")
+    @Test
+    public void shouldGetFreeSlots() {
+        List<TimeSlotDto> result = bookingAvailability.getFreeSlots(1L, FIXED_TIME, FIXED_TIME.plusDays(8));
+        List<TimeSlotDto> resultInside = bookingAvailability
+                .getFreeSlots(1L, FIXED_TIME.plusDays(2), FIXED_TIME.plusDays(3));
+        List<TimeSlotDto> resultWithoutBookings = bookingAvailability
+                .getFreeSlots(3L, FIXED_TIME, FIXED_TIME.plusDays(1));
+
+        assertThat(result, contains(
+                new TimeSlotDto(FIXED_TIME, FIXED_TIME.plusDays(1)),
+                new TimeSlotDto(FIXED_TIME.plusDays(4), FIXED_TIME.plusDays(6)),
+                new TimeSlotDto(FIXED_TIME.plusDays(7), FIXED_TIME.plusDays(8))));
+        assertThat(resultInside, empty());
+        assertThat(resultWithoutBookings, contains(new TimeSlotDto(FIXED_TIME, FIXED_TIME.plusDays(1))));
+    }
+
+    @DisplayName("Должен учитывать добавленные и удалённые бронирования")
+    @Test
+    public void shouldUpdateFreeSlots() {
+        Item item = Item.builder().id(2L).build();
+        bookingAvailability.addAfterCommit(new Booking(5L, FIXED_TIME.plusDays(11), FIXED_TIME.plusDays(12),
+                item, null, WAITING));
+        bookingAvailability.removeAfterCommit(4L);
+
+        List<TimeSlotDto> result = bookingAvailability.getFreeSlots(2L, FIXED_TIME, FIXED_TIME.plusDays(13));
+
+        assertThat(result, contains(
+                new TimeSlotDto(FIXED_TIME, FIXED_TIME.plusDays(11)),
+                new TimeSlotDto(FIXED_TIME.plusDays(12), FIXED_TIME.plusDays(13))));
+    }
+
+    @DisplayName("Должен удалить закончившиеся бронирования и пустые расписания вещей")
+    @Test
+    public void shouldEvictEndedBookings() {
+        assertThat(bookingAvailability.evictEndedBefore(FIXED_TIME.plusDays(5)), is(2));
+        assertThat(bookingAvailability.size(), is(2));
+        assertThat(bookingAvailability.getScheduledItemCount(), is(2));
+
+        assertThat(bookingAvailability.evictEndedBefore(FIXED_TIME.plusDays(11)), is(2));
+        assertThat(bookingAvailability.size(), is(0));
+        assertThat(bookingAvailability.getScheduledItemCount(), is(0));
+        assertThat(bookingAvailability.getFreeSlots(1L, FIXED_TIME, FIXED_TIME.plusDays(8)),
+                contains(new TimeSlotDto(FIXED_TIME, FIXED_TIME.plusDays(8))));
+    }
+
+    @DisplayName("Дерево интервалов должно находить те же пересечения, что и полный перебор")
+    @Test
+    public void intervalTreeShouldMatchBruteForce() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<BookedInterval> all = new ArrayList<>();
+        for (long id = 0; id < 2000; id++) {
+            LocalDateTime start = FIXED_TIME.plusHours(random.nextInt(10000));
+            BookedInterval interval = new BookedInterval(id, 1L, start, start.plusHours(1 + random.nextInt(48)));
+            tree.insert(interval);
+            all.add(interval);
+        }
+        for (int i = 0; i < 500; i++) {
+            BookedInterval removed = all.remove(random.nextInt(all.size()));
+            tree.remove(removed);
+        }
+
+        assertThat(tree.size(), is(all.size()));
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime from = FIXED_TIME.plusHours(random.nextInt(10000));
+            LocalDateTime to = from.plusHours(1 + random.nextInt(100));
+            List<BookedInterval> expected = all.stream()
+                    .filter(interval -> interval.getStart().isBefore(to) && interval.getEnd().isAfter(from))
+                    .sorted(Comparator.comparing(BookedInterval::getStart)
+                            .thenComparing(BookedInterval::getBookingId))
+                    .collect(Collectors.toList());
+
+            assertThat(tree.findOverlapping(from, to), is(equalTo(expected)));
+        }
+    }
+}
@@ -7,24 +7,38 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.booking.dto.ItemOccupancyDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.export.ExportFormat;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.Constant.*;
 import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
@@ -72,6 +86,37 @@ public class BookingControllerTest {
         verify(bookingService).createBooking(any(), anyLong());
     }
 
+    @DisplayName("Должен создать пакет бронирований и вернуть результат по каждому")
+    @Test
+    @SneakyThrows
+    public void shouldCreateBookings() {
+        List<BookingDtoCreate> bookingDtoCreates = List.of(
+                new BookingDtoCreate(1L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)),
+                new BookingDtoCreate(99L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+        BookingDto bookingDto = getBookingDto();
+        List<BookingBatchResultDto> results = List.of(
+                new BookingBatchResultDto(0, bookingDto, null),
+                new BookingBatchResultDto(1, null, "The item with this id=99 not found"));
+
+        when(bookingService.createBookings(any(), anyLong())).thenReturn(results);
+
+        mvc.perform(post("/bookings/batch")
+                        .content(mapper.writeValueAsString(bookingDtoCreates))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HEADER_USER, 1L))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].booking.id").value(bookingDto.getId()))
+                .andExpect(jsonPath("$[0].error").isEmpty())
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].booking").isEmpty())
+                .andExpect(jsonPath("$[1].error").value(results.get(1).getError()))
+                .andExpect(status().isOk());
+
+        verify(bookingService).createBookings(any(), anyLong());
+    }
+
     @DisplayName("Должен обновить бронирование")
     @Test
     @SneakyThrows
@@ -104,6 +149,28 @@ public class BookingControllerTest {
         verify(bookingService).updateBooking(anyLong(), anyLong(), anyBoolean());
     }
 
+    @DisplayName("Должен обновить несколько бронирований хозяина вещи")
+    @Test
+    @SneakyThrows
+    public void shouldUpdateBookings() {
+        BookingDto bookingDtoUpdate = getBookingDtoUpdate();
+
+        when(bookingService.updateBookings(anyLong(), anyList(), anyBoolean())).thenReturn(List.of(bookingDtoUpdate));
+
+        mvc.perform(patch("/bookings/owner/status?approved=true")
+                        .content(mapper.writeValueAsString(List.of(1L, 2L)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HEADER_USER, 2L))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(bookingDtoUpdate.getId()))
+                .andExpect(jsonPath("$[0].status").value(String.valueOf(bookingDtoUpdate.getStatus())))
+                .andExpect(status().isOk());
+
+        verify(bookingService).updateBookings(2L, List.of(1L, 2L), true);
+    }
+
     @DisplayName("Должен вернуть бронирование по id хозяину вещи или пользователю, сделавшему это бронирование")
     @Test
     @SneakyThrows
@@ -186,6 +253,126 @@ public class BookingControllerTest {
         verify(bookingService).getAllBookingsOwner(anyLong(), any(), anyInt(), anyInt());
     }
 
+    @DisplayName("Должен вернуть бронирования хозяину вещи после курсора и курсор следующей страницы")
+    @Test
+    @SneakyThrows
+    public void shouldGetAllBookingsOwnerAfterCursor() {
+        List<BookingDto> bookings = getBookingDtoList();
+        KeysetCursor cursor = new KeysetCursor(FIXED_TIME.plusDays(5), 3L);
+
+        when(bookingService.getAllBookingsOwnerAfter(anyLong(), any(), any(), anyInt()))
+                .thenReturn(bookings);
+
+        mvc.perform(get("/bookings/owner?state=ALL&size=1&after={after}", cursor.format())
+                        .header(HEADER_USER, 1L))
+                .andExpect(jsonPath("$[0].id").value(bookings.get(0).getId()))
+                .andExpect(header().string(HEADER_NEXT_CURSOR,
+                        KeysetCursor.of(bookings.get(0).getStart(), bookings.get(0).getId()).format()))
+                .andExpect(status().isOk());
+
+        verify(bookingService).getAllBookingsOwnerAfter(1L, BookingState.ALL, cursor, 1);
+    }
+
+    @DisplayName("Не должен вернуть курсор следующей страницы, если страница неполная")
+    @Test
+    @SneakyThrows
+    public void shouldNotReturnNextCursorForLastPage() {
+        List<BookingDto> bookings = List.of(getBookingDto());
+
+        when(bookingService.getAllBookingsBookerAfter(anyLong(), any(), any(), anyInt())).thenReturn(bookings);
+
+        mvc.perform(get("/bookings?state=ALL&size=2&after=2023-05-19T21:09:45,5")
+                        .header(HEADER_USER, 1L))
+                .andExpect(jsonPath("$[0].id").value(bookings.get(0).getId()))
+                .andExpect(header().doesNotExist(HEADER_NEXT_CURSOR))
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("Должен вернуть 400, если курсор имеет неверный формат")
+    @Test
+    @SneakyThrows
+    public void shouldNotGetAllBookingsWithInvalidCursor() {
+        mvc.perform(get("/bookings?state=ALL&after=yesterday")
+                        .header(HEADER_USER, 1L))
+                .andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("Должен вернуть количество бронирований пользователя и хозяина вещи по состояниям")
+    @Test
+    @SneakyThrows
+    public void shouldGetBookingCounts() {
+        BookingCountsDto counts = new BookingCountsDto(6L, 1L, 2L, 3L, 2L, 1L, 0L);
+
+        when(bookingService.getBookingCountsBooker(anyLong())).thenReturn(counts);
+        when(bookingService.getBookingCountsOwner(anyLong())).thenReturn(counts);
+
+        mvc.perform(get("/bookings/counts")
+                        .header(HEADER_USER, 1L))
+                .andExpect(jsonPath("$.all").value(counts.getAll()))
+                .andExpect(jsonPath("$.current").value(counts.getCurrent()))
+                .andExpect(jsonPath("$.past").value(counts.getPast()))
+                .andExpect(jsonPath("$.future").value(counts.getFuture()))
+                .andExpect(jsonPath("$.waiting").value(counts.getWaiting()))
+                .andExpect(jsonPath("$.rejected").value(counts.getRejected()))
+                .andExpect(status().isOk());
+        mvc.perform(get("/bookings/owner/counts")
+                        .header(HEADER_USER, 2L))
+                .andExpect(jsonPath("$.all").value(counts.getAll()))
+                .andExpect(status().isOk());
+
+        verify(bookingService).getBookingCountsBooker(1L);
+        verify(bookingService).getBookingCountsOwner(2L);
+    }
+
+    @DisplayName("Должен вернуть календарь занятости вещей владельца за месяц")
+    @Test
+    @SneakyThrows
+    public void shouldGetCalendarOwner() {
+        List<ItemOccupancyDto> calendar = List.of(new ItemOccupancyDto(1L, 3L, 1L << 30));
+
+        when(bookingService.getCalendarOwner(anyLong(), any())).thenReturn(calendar);
+
+        mvc.perform(get("/bookings/owner/calendar?month=2030-03")
+                        .header(HEADER_USER, 1L))
+                .andExpect(jsonPath("$[0].itemId").value(1L))
+                .andExpect(jsonPath("$[0].approvedDays").value(3L))
+                .andExpect(jsonPath("$[0].waitingDays").value(1L << 30))
+                .andExpect(status().isOk());
+
+        verify(bookingService).getCalendarOwner(1L, YearMonth.of(2030, 3));
+    }
+
+    @DisplayName("Должен отдать выгрузку бронирований владельца потоком с типом и именем файла")
+    @Test
+    @SneakyThrows
+    public void shouldExportBookingsOwner() {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bookingService).exportBookingsOwner(anyLong(), any(), any());
+
+        MvcResult result = mvc.perform(get("/bookings/owner/export?format=CSV")
+                        .header(HEADER_USER, 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.csv\""))
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string("id\n1\n"));
+
+        verify(bookingService).exportBookingsOwner(eq(1L), eq(ExportFormat.CSV), any());
+    }
+
+    @DisplayName("Должен вернуть 400, если формат выгрузки неизвестен")
+    @Test
+    @SneakyThrows
+    public void shouldNotExportBookingsInUnknownFormat() {
+        mvc.perform(get("/bookings/owner/export?format=XML")
+                        .header(HEADER_USER, 1L))
+                .andExpect(status().isBadRequest());
+    }
+
     private BookingDto getBookingDto() {
         return new BookingDto(
                 1L,
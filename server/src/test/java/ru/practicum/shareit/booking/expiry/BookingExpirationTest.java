@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+
+public class BookingExpirationTest {
+    private final BookingService bookingService = mock(BookingService.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BookingExpiration bookingExpiration = new BookingExpiration(bookingService, meterRegistry, 2);
+
+    @DisplayName("Должен повторять порции, пока они заполнены, и учитывать их в метриках")
+    @Test
+    public void shouldExpireChunksUntilPartialOne() {
+        LocalDateTime current = LocalDateTime.now();
+        when(bookingService.expireBookings(current, 2)).thenReturn(2, 2, 1);
+
+        assertThat(bookingExpiration.expireStartedBefore(current), is(5L));
+        verify(bookingService, times(3)).expireBookings(current, 2);
+        assertThat(meterRegistry.get("shareit.booking.expiry.expired").counter().count(), is(5.0));
+        assertThat(meterRegistry.get("shareit.booking.expiry.chunks").counter().count(), is(3.0));
+    }
+}
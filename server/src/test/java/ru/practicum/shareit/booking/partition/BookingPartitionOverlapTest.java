@@ -0,0 +1,92 @@
+package ru.practicum.shareit.booking.partition;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.partition.BookingPartitionPlan.getName;
+
+@Tag("postgresql")
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.driverClassName=org.postgresql.Driver",
+        "spring.datasource.url=jdbc:postgresql://localhost:5432/shareit_db",
+        "spring.datasource.username=shareit",
+        "spring.datasource.password=admin",
+        "spring.sql.init.platform=postgresql",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQL10Dialect"})
+public class BookingPartitionOverlapTest {
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private YearMonth month;
+    private LocalDateTime boundary;
+    private Item item;
+    private User booker;
+
+    @BeforeEach
+    public void setUp() {
+        month = YearMonth.now().plusMonths(1);
+        boundary = month.plusMonths(1).atDay(1).atStartOfDay();
+        User owner = userRepository.save(new User(null, "Ivan", "ivan.partition@mail.ru"));
+        booker = userRepository.save(new User(null, "Lisa", "lisa.partition@mail.ru"));
+        item = itemRepository.save(new Item(null, "saw", "wood saw", true, owner, null));
+        bookingRepository.saveAndFlush(new Booking(null, boundary.minusHours(2), boundary.plusHours(2),
+                item, booker, APPROVED));
+    }
+
+    @DisplayName("Должен запретить пересекающиеся подтверждённые бронирования из соседних партиций")
+    @Test
+    public void shouldNotSaveApprovedBookingsOverlappingAcrossPartitions() {
+        Booking overlapping = new Booking(null, boundary.plusHours(1), boundary.plusHours(3), item, booker, APPROVED);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_inherits WHERE inhrelid IN " +
+                "(to_regclass(?), to_regclass(?))", Long.class, getName(month), getName(month.plusMonths(1))), is(2L));
+        assertThrows(DataIntegrityViolationException.class, () -> bookingRepository.saveAndFlush(overlapping));
+    }
+
+    @DisplayName("Должен запретить пересекающиеся подтверждённые бронирования внутри месячной партиции")
+    @Test
+    public void shouldNotSaveApprovedBookingsOverlappingInsidePartition() {
+        Booking overlapping = new Booking(null, boundary.minusHours(3), boundary.minusHours(1), item, booker, APPROVED);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_inherits i WHERE i.inhparent = " +
+                "'booking'::regclass AND NOT EXISTS (SELECT 1 FROM pg_constraint x WHERE x.conrelid = i.inhrelid " +
+                "AND x.contype = 'x')", Long.class), is(0L));
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> bookingRepository.saveAndFlush(overlapping));
+        assertThat(exception.getMostSpecificCause().getMessage(),
+                containsString("ex_" + getName(month) + "_item_approved"));
+    }
+
+    @DisplayName("Должен сохранить смежные подтверждённые бронирования из соседних партиций")
+    @Test
+    public void shouldSaveAdjacentApprovedBookingsAcrossPartitions() {
+        Booking adjacent = bookingRepository.saveAndFlush(new Booking(null, boundary.plusHours(2),
+                boundary.plusHours(3), item, booker, APPROVED));
+
+        assertThat(adjacent.getId(), notNullValue());
+    }
+}
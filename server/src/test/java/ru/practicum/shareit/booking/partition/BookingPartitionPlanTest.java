@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking.partition;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class BookingPartitionPlanTest {
+    private static final YearMonth CURRENT = YearMonth.of(2024, 11);
+
+    @DisplayName("Должен создать недостающие партиции на текущий и следующие месяцы и для строк из партиции по умолчанию")
+    @Test
+    public void shouldCreateMissingPartitions() {
+        BookingPartitionPlan plan = BookingPartitionPlan.of(CURRENT, List.of(CURRENT, CURRENT.plusMonths(1)),
+                List.of(YearMonth.of(2023, 5), CURRENT.plusMonths(12)), 3, 0);
+
+        assertThat(plan.getToCreate(), contains(YearMonth.of(2023, 5), YearMonth.of(2025, 1),
+                YearMonth.of(2025, 2), YearMonth.of(2025, 11)));
+        assertThat(plan.getToDetach(), empty());
+    }
+
+    @DisplayName("Должен отсоединить партиции старше срока хранения")
+    @Test
+    public void shouldDetachPartitionsOlderThanRetention() {
+        BookingPartitionPlan plan = BookingPartitionPlan.of(CURRENT,
+                List.of(YearMonth.of(2024, 1), YearMonth.of(2024, 4), YearMonth.of(2024, 5), CURRENT),
+                List.of(YearMonth.of(2023, 12)), 0, 6);
+
+        assertThat(plan.getToCreate(), contains(YearMonth.of(2023, 12)));
+        assertThat(plan.getToDetach(), contains(YearMonth.of(2023, 12), YearMonth.of(2024, 1),
+                YearMonth.of(2024, 4)));
+    }
+
+    @DisplayName("Должен строить и разбирать имена партиций")
+    @Test
+    public void shouldFormatAndParseNames() {
+        assertThat(BookingPartitionPlan.getName(YearMonth.of(2024, 3)), is(equalTo("booking_p2024_03")));
+        assertThat(BookingPartitionPlan.parseName("booking_p2024_03"), is(equalTo(Optional.of(YearMonth.of(2024, 3)))));
+        assertThat(BookingPartitionPlan.parseName("booking_default"), is(equalTo(Optional.empty())));
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.booking.pointer;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class BookingPointersTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final BookingPointers bookingPointers;
+    private final JdbcTemplate jdbcTemplate;
+    private final LocalDateTime current = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    private UserDto owner;
+    private ItemDto item;
+    private BookingDto lastBooking;
+    private BookingDto nextBooking;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userService.createUser(new UserDto(null, "Ivan", "ivan@mail.ru"));
+        UserDto booker = userService.createUser(new UserDto(null, "Lisa", "lisa@mail.ru"));
+        item = itemService.createItem(new ItemDto(null, "saw", "wood saw", true, null), owner.getId());
+        lastBooking = bookingService.createBooking(new BookingDtoCreate(item.getId(), current.minusDays(2),
+                current.minusDays(1)), booker.getId());
+        nextBooking = bookingService.createBooking(new BookingDtoCreate(item.getId(), current.plusDays(1),
+                current.plusDays(2)), booker.getId());
+        bookingService.createBooking(new BookingDtoCreate(item.getId(), current.plusDays(3), current.plusDays(4)),
+                booker.getId());
+    }
+
+    @DisplayName("Должен обновить последнее и следующее бронирование вещи при подтверждении")
+    @Test
+    public void shouldRefreshPointersWhenBookingIsApproved() {
+        bookingService.updateBooking(owner.getId(), lastBooking.getId(), true);
+        bookingService.updateBooking(owner.getId(), nextBooking.getId(), true);
+
+        ItemDtoInfo itemDtoInfo = itemService.getItemDtoById(item.getId(), owner.getId());
+
+        assertThat(itemDtoInfo.getLastBooking().getId(), is(equalTo(lastBooking.getId())));
+        assertThat(itemDtoInfo.getNextBooking().getId(), is(equalTo(nextBooking.getId())));
+        assertThat(bookingPointers.findInconsistent(current, 10), is(empty()));
+    }
+
+    @DisplayName("Должен сдвинуть следующее бронирование в последнее, когда оно началось")
+    @Test
+    public void shouldAdvancePointersWhenNextBookingStarts() {
+        bookingService.updateBookings(owner.getId(), List.of(lastBooking.getId(), nextBooking.getId()),
+                true);
+
+        assertThat(bookingPointers.advance(current), is(equalTo(0)));
+        assertThat(bookingPointers.advance(current.plusDays(1).plusHours(1)), is(equalTo(1)));
+
+        ItemDtoInfo itemDtoInfo = itemService.getItemDtoById(item.getId(), owner.getId());
+        assertThat(itemDtoInfo.getLastBooking().getId(), is(equalTo(nextBooking.getId())));
+        assertThat(itemDtoInfo.getNextBooking(), is(nullValue()));
+    }
+
+    @DisplayName("Должен найти вещь с неверными указателями на бронирования и пересчитать их")
+    @Test
+    public void shouldFindAndRepairInconsistentPointers() {
+        bookingService.updateBooking(owner.getId(), nextBooking.getId(), true);
+        jdbcTemplate.update("UPDATE item SET next_booking_id = NULL, next_booking_start = NULL, " +
+                "last_booking_id = ?, last_booking_start = ? WHERE item_id = ?", lastBooking.getId(),
+                lastBooking.getStart(), item.getId());
+
+        assertThat(bookingPointers.findInconsistent(current, 10), contains(item.getId()));
+        assertThat(bookingPointers.repair(current), is(equalTo(1L)));
+        assertThat(bookingPointers.findInconsistent(current, 10), is(empty()));
+        assertThat(itemService.getItemDtoById(item.getId(), owner.getId()).getNextBooking().getId(),
+                is(equalTo(nextBooking.getId())));
+    }
+
+    @DisplayName("Должен сбросить указатель на последнее бронирование, начавшееся до границы")
+    @Test
+    public void shouldClearLastPointerBeforeBoundary() {
+        bookingService.updateBookings(owner.getId(), List.of(lastBooking.getId(), nextBooking.getId()),
+                true);
+
+        assertThat(bookingPointers.clearLastBefore(current.minusDays(2)), is(equalTo(0)));
+        assertThat(bookingPointers.clearLastBefore(current), is(equalTo(1)));
+
+        ItemDtoInfo itemDtoInfo = itemService.getItemDtoById(item.getId(), owner.getId());
+        assertThat(itemDtoInfo.getLastBooking(), is(nullValue()));
+        assertThat(itemDtoInfo.getNextBooking().getId(), is(equalTo(nextBooking.getId())));
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import ru.practicum.shareit.BenchmarkSupport;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static ru.practicum.shareit.BenchmarkSupport.saveBookings;
+import static ru.practicum.shareit.BenchmarkSupport.saveItems;
+import static ru.practicum.shareit.Constant.FIXED_TIME;
+import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
+
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+public class BookingRepositoryBenchmark {
+    private static final int[] ITEM_COUNTS = {10, 100, 1000};
+    private static final int BOOKINGS_PER_ITEM = 20;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    private BenchmarkSupport benchmark;
+    private List<Long> itemIds;
+
+    @BeforeEach
+    public void setUp() {
+        benchmark = new BenchmarkSupport(entityManager, WARMUP, ITERATIONS);
+        User owner = userRepository.save(new User(null, "Ivan", "ivan@mail.ru"));
+        User booker = userRepository.save(new User(null, "Sofia", "sofia@mail.ru"));
+        int maxItems = Arrays.stream(ITEM_COUNTS).max().orElseThrow();
+
+        List<Item> items = saveItems(itemRepository, owner, maxItems);
+        saveBookings(bookingRepository, items, booker, BOOKINGS_PER_ITEM);
+        benchmark.flushAndClear();
+
+        itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    @DisplayName("Замер времени поиска последнего и следующего бронирований в зависимости от количества вещей")
+    @Test
+    public void lastAndNextBookingsLatency() {
+        for (int itemCount : ITEM_COUNTS) {
+            List<Long> ids = itemIds.subList(0, itemCount);
+
+            long twoQueries = benchmark.measure(() -> {
+                findNextBookings(ids);
+                findLastBookings(ids);
+            });
+            long singlePass = benchmark.measure(() -> assertThat(benchmark.findLastAndNextBookings(FIXED_TIME, ids),
+                    hasSize(itemCount * 2)));
+
+            log.info("items={}, bookings={}: two queries median={}us, single pass median={}us",
+                    itemCount, itemCount * BOOKINGS_PER_ITEM, twoQueries, singlePass);
+        }
+    }
+
+    private List<Booking> findNextBookings(List<Long> ids) {
+        return entityManager.createQuery("SELECT b FROM Booking b WHERE b.item.id IN :itemIds " +
+                        "AND b.status = :status AND b.start >= :current AND b.start = (SELECT MIN(b2.start) " +
+                        "FROM Booking b2 WHERE b2.item.id = b.item.id AND b2.status = :status " +
+                        "AND b2.start >= :current)", Booking.class)
+                .setParameter("itemIds", ids)
+                .setParameter("status", APPROVED)
+                .setParameter("current", FIXED_TIME)
+                .getResultList();
+    }
+
+    private List<Booking> findLastBookings(List<Long> ids) {
+        return entityManager.createQuery("SELECT b FROM Booking b WHERE b.item.id IN :itemIds " +
+                        "AND b.status = :status AND b.start < :current AND b.start = (SELECT MAX(b2.start) " +
+                        "FROM Booking b2 WHERE b2.item.id = b.item.id AND b2.status = :status " +
+                        "AND b2.start < :current)", Booking.class)
+                .setParameter("itemIds", ids)
+                .setParameter("status", APPROVED)
+                .setParameter("current", FIXED_TIME)
+                .getResultList();
+    }
+}
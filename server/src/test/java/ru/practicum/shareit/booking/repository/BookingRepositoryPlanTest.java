@@ -0,0 +1,163 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static ru.practicum.shareit.Constant.FIXED_TIME;
+import static ru.practicum.shareit.booking.BookingStatus.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "ru.practicum.shareit.booking.repository.BookingRepositoryPlanTest$SqlCaptor")
+public class BookingRepositoryPlanTest {
+    private static final int USERS = 40;
+    private static final int ITEMS_PER_USER = 5;
+    private static final int BOOKINGS_PER_ITEM = 10;
+    private static final String FULL_SCAN = "tableScan";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking booking;
+
+    @BeforeEach
+    public void setUp() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new User(null, "user" + i, "user" + i + "@mail.ru"));
+        }
+        users = userRepository.saveAll(users);
+
+        List<Item> items = new ArrayList<>();
+        for (User user : users) {
+            for (int i = 0; i < ITEMS_PER_USER; i++) {
+                items.add(new Item(null, "saw" + i, "wood saw", true, user, null));
+            }
+        }
+        items = itemRepository.saveAll(items);
+
+        BookingStatus[] statuses = BookingStatus.values();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                User bookerOfItem = users.get((i + j + 1) % USERS);
+                bookings.add(new Booking(null, FIXED_TIME.plusDays(j - 5L), FIXED_TIME.plusDays(j - 4L),
+                        items.get(i), bookerOfItem, statuses[j % statuses.length]));
+            }
+        }
+        bookings = bookingRepository.saveAll(bookings);
+        entityManager.flush();
+        entityManager.clear();
+
+        owner = users.get(0);
+        item = items.get(0);
+        booking = bookings.get(0);
+        booker = booking.getBooker();
+    }
+
+    @DisplayName("Запросы бронирований владельца не должны использовать полное сканирование таблиц")
+    @Test
+    public void ownerQueriesShouldUseIndexes() {
+        Pageable pageable = getPageable();
+
+        assertIndexOnly(() -> bookingRepository.findAllByItem_Owner_Id(owner.getId(), pageable));
+        assertIndexOnly(() -> bookingRepository.findAllByItem_Owner_IdAndStatus(owner.getId(), WAITING, pageable));
+        assertIndexOnly(() -> bookingRepository.findAllByItem_Owner_IdAndEndBefore(owner.getId(), FIXED_TIME,
+                pageable));
+        assertIndexOnly(() -> bookingRepository.findAllByItem_Owner_IdAndStartAfter(owner.getId(), FIXED_TIME,
+                pageable));
+        assertIndexOnly(() -> bookingRepository.findAllByItem_Owner_IdAndStartBeforeAndEndAfter(owner.getId(),
+                FIXED_TIME, FIXED_TIME, pageable));
+        assertIndexOnly(() -> bookingRepository.findAllByOwnerAfter(owner.getId(), FIXED_TIME, Long.MAX_VALUE,
+                PageRequest.of(0, 10)));
+        assertIndexOnly(() -> bookingRepository.findAllByOwnerAndStatusAfter(owner.getId(), WAITING, FIXED_TIME,
+                Long.MAX_VALUE, PageRequest.of(0, 10)));
+    }
+
+    @DisplayName("Запросы бронирований пользователя не должны использовать полное сканирование таблиц")
+    @Test
+    public void bookerQueriesShouldUseIndexes() {
+        Pageable pageable = getPageable();
+
+        assertIndexOnly(() -> bookingRepository.findAllByBooker_Id(booker.getId(), pageable));
+        assertIndexOnly(() -> bookingRepository.findAllByBooker_IdAndStatus(booker.getId(), REJECTED, pageable));
+        assertIndexOnly(() -> bookingRepository.findAllByBooker_IdAndEndBefore(booker.getId(), FIXED_TIME,
+                pageable));
+        assertIndexOnly(() -> bookingRepository.findAllByBooker_IdAndStartAfter(booker.getId(), FIXED_TIME,
+                pageable));
+        assertIndexOnly(() -> bookingRepository.findAllByBooker_IdAndStartBeforeAndEndAfter(booker.getId(),
+                FIXED_TIME, FIXED_TIME, pageable));
+        assertIndexOnly(() -> bookingRepository.findAllByBookerAfter(booker.getId(), FIXED_TIME, Long.MAX_VALUE,
+                PageRequest.of(0, 10)));
+        assertIndexOnly(() -> bookingRepository.findAllByBookerAndCurrentAfter(booker.getId(), FIXED_TIME,
+                FIXED_TIME, Long.MAX_VALUE, PageRequest.of(0, 10)));
+    }
+
+    @DisplayName("Запросы по вещам и отдельному бронированию не должны использовать полное сканирование таблиц")
+    @Test
+    public void itemQueriesShouldUseIndexes() {
+        assertIndexOnly(() -> bookingRepository.findBookingByIdAndUser(booking.getId(), booker.getId()));
+        assertIndexOnly(() -> bookingRepository.existsByItemIdAndBookerIdAndStatusAndEndBefore(item.getId(),
+                booker.getId(), APPROVED, FIXED_TIME));
+    }
+
+    private void assertIndexOnly(Runnable query) {
+        SqlCaptor.STATEMENTS.clear();
+        query.run();
+        List<String> statements = new ArrayList<>(SqlCaptor.STATEMENTS);
+        entityManager.clear();
+
+        assertThat(statements, not(empty()));
+        List<String> plans = statements.stream()
+                .map(sql -> jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class))
+                .collect(Collectors.toList());
+        for (String plan : plans) {
+            assertThat(plan, not(containsString(FULL_SCAN)));
+        }
+    }
+
+    private Pageable getPageable() {
+        return PageRequest.of(0, 10, Sort.by(Sort.Order.desc("start"), Sort.Order.desc("id")));
+    }
+
+    public static class SqlCaptor implements StatementInspector {
+        private static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
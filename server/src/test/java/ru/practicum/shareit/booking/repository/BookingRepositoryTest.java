@@ -11,16 +11,24 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingInfoView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.*;
@@ -105,12 +113,12 @@ public class BookingRepositoryTest {
     public void findAllByItem_Owner_Id() {
         Pageable pageable = getPageable();
 
-        List<Booking> resultOne = bookingRepository.findAllByItem_Owner_Id(ownerOne.getId(), pageable);
-        List<Booking> resultTwo = bookingRepository.findAllByItem_Owner_Id(ownerTwo.getId(), pageable);
-        List<Booking> resultThree = bookingRepository.findAllByItem_Owner_Id(-1L, pageable);
+        List<BookingDto> resultOne = bookingRepository.findAllByItem_Owner_Id(ownerOne.getId(), pageable);
+        List<BookingDto> resultTwo = bookingRepository.findAllByItem_Owner_Id(ownerTwo.getId(), pageable);
+        List<BookingDto> resultThree = bookingRepository.findAllByItem_Owner_Id(-1L, pageable);
 
-        assertThat(resultOne, Matchers.is(equalTo(List.of(bookingThree, bookingFour, bookingOne, bookingTwo))));
-        assertThat(resultTwo, Matchers.is(equalTo(List.of(bookingSeven, bookingFive, bookingSix, bookingEight))));
+        assertThat(resultOne, Matchers.is(equalTo(toBookingDtos(bookingThree, bookingFour, bookingOne, bookingTwo))));
+        assertThat(resultTwo, Matchers.is(equalTo(toBookingDtos(bookingSeven, bookingFive, bookingSix, bookingEight))));
         assertThat(resultThree, hasSize(0));
     }
 
@@ -119,18 +127,18 @@ public class BookingRepositoryTest {
     public void findAllByItem_Owner_IdAndStatus() {
         Pageable pageable = getPageable();
 
-        List<Booking> resultOne = bookingRepository
+        List<BookingDto> resultOne = bookingRepository
                 .findAllByItem_Owner_IdAndStatus(ownerOne.getId(), APPROVED, pageable);
-        List<Booking> resultTwo = bookingRepository
+        List<BookingDto> resultTwo = bookingRepository
                 .findAllByItem_Owner_IdAndStatus(ownerTwo.getId(), REJECTED, pageable);
-        List<Booking> resultThree = bookingRepository
+        List<BookingDto> resultThree = bookingRepository
                 .findAllByItem_Owner_IdAndStatus(ownerTwo.getId(), WAITING, pageable);
-        List<Booking> resultFour = bookingRepository
+        List<BookingDto> resultFour = bookingRepository
                 .findAllByItem_Owner_IdAndStatus(-1L, WAITING, pageable);
 
-        assertThat(resultOne, Matchers.is(equalTo(List.of(bookingFour, bookingOne))));
-        assertThat(resultTwo, Matchers.is(equalTo(List.of(bookingSeven))));
-        assertThat(resultThree, Matchers.is(equalTo(List.of(bookingFive))));
+        assertThat(resultOne, Matchers.is(equalTo(toBookingDtos(bookingFour, bookingOne))));
+        assertThat(resultTwo, Matchers.is(equalTo(toBookingDtos(bookingSeven))));
+        assertThat(resultThree, Matchers.is(equalTo(toBookingDtos(bookingFive))));
         assertThat(resultFour, hasSize(0));
     }
 
@@ -139,12 +147,12 @@ public class BookingRepositoryTest {
     public void findAllByItem_Owner_IdAndEndBefore() {
         Pageable pageable = getPageable();
 
-        List<Booking> resultOne = bookingRepository
+        List<BookingDto> resultOne = bookingRepository
                 .findAllByItem_Owner_IdAndEndBefore(ownerOne.getId(), FIXED_TIME, pageable);
-        List<Booking> resultTwo = bookingRepository
+        List<BookingDto> resultTwo = bookingRepository
                 .findAllByItem_Owner_IdAndEndBefore(-1L, FIXED_TIME, pageable);
 
-        assertThat(resultOne, Matchers.is(equalTo(List.of(bookingTwo))));
+        assertThat(resultOne, Matchers.is(equalTo(toBookingDtos(bookingTwo))));
         assertThat(resultTwo, hasSize(0));
     }
 
@@ -153,12 +161,12 @@ public class BookingRepositoryTest {
     public void findAllByItem_Owner_IdAndStartAfter() {
         Pageable pageable = getPageable();
 
-        List<Booking> resultOne = bookingRepository
+        List<BookingDto> resultOne = bookingRepository
                 .findAllByItem_Owner_IdAndStartAfter(ownerOne.getId(), FIXED_TIME, pageable);
-        List<Booking> resultTwo = bookingRepository
+        List<BookingDto> resultTwo = bookingRepository
                 .findAllByItem_Owner_IdAndStartAfter(-1L, FIXED_TIME, pageable);
 
-        assertThat(resultOne, Matchers.is(equalTo(List.of(bookingThree))));
+        assertThat(resultOne, Matchers.is(equalTo(toBookingDtos(bookingThree))));
         assertThat(resultTwo, hasSize(0));
     }
 
@@ -167,10 +175,10 @@ public class BookingRepositoryTest {
     public void findAllByItem_Owner_IdAndStartBeforeAndEndAfter() {
         Pageable pageable = getPageable();
 
-        List<Booking> resultOne = bookingRepository
+        List<BookingDto> resultOne = bookingRepository
                 .findAllByItem_Owner_IdAndStartBeforeAndEndAfter(ownerTwo.getId(), FIXED_TIME, FIXED_TIME, pageable);
 
-        assertThat(resultOne, Matchers.is(equalTo(List.of(bookingSix))));
+        assertThat(resultOne, Matchers.is(equalTo(toBookingDtos(bookingSix))));
     }
 
     @DisplayName("Должен найти все бронирования по id пользователя, сделавшего это бронирование")
@@ -178,12 +186,12 @@ public class BookingRepositoryTest {
     public void findAllByBooker_Id() {
         Pageable pageable = getPageable();
 
-        List<Booking> resultOne = bookingRepository.findAllByBooker_Id(bookerOne.getId(), pageable);
-        List<Booking> resultTwo = bookingRepository.findAllByBooker_Id(bookerTwo.getId(), pageable);
-        List<Booking> resultThree = bookingRepository.findAllByBooker_Id(-1L, pageable);
+        List<BookingDto> resultOne = bookingRepository.findAllByBooker_Id(bookerOne.getId(), pageable);
+        List<BookingDto> resultTwo = bookingRepository.findAllByBooker_Id(bookerTwo.getId(), pageable);
+        List<BookingDto> resultThree = bookingRepository.findAllByBooker_Id(-1L, pageable);
 
-        assertThat(resultOne, Matchers.is(equalTo(List.of(bookingFive, bookingOne, bookingSix, bookingTwo))));
-        assertThat(resultTwo, Matchers.is(equalTo(List.of(bookingSeven, bookingThree, bookingFour, bookingEight))));
+        assertThat(resultOne, Matchers.is(equalTo(toBookingDtos(bookingFive, bookingOne, bookingSix, bookingTwo))));
+        assertThat(resultTwo, Matchers.is(equalTo(toBookingDtos(bookingSeven, bookingThree, bookingFour, bookingEight))));
         assertThat(resultThree, hasSize(0));
     }
 
@@ -192,14 +200,14 @@ public class BookingRepositoryTest {
     public void findAllByBooker_IdAndStatus() {
         Pageable pageable = getPageable();
 
-        List<Booking> resultOne = bookingRepository.findAllByBooker_IdAndStatus(bookerOne.getId(), APPROVED, pageable);
-        List<Booking> resultTwo = bookingRepository.findAllByBooker_IdAndStatus(bookerTwo.getId(), REJECTED, pageable);
-        List<Booking> resultThree = bookingRepository.findAllByBooker_IdAndStatus(bookerTwo.getId(), WAITING, pageable);
-        List<Booking> resultFour = bookingRepository.findAllByBooker_IdAndStatus(-1L, WAITING, pageable);
+        List<BookingDto> resultOne = bookingRepository.findAllByBooker_IdAndStatus(bookerOne.getId(), APPROVED, pageable);
+        List<BookingDto> resultTwo = bookingRepository.findAllByBooker_IdAndStatus(bookerTwo.getId(), REJECTED, pageable);
+        List<BookingDto> resultThree = bookingRepository.findAllByBooker_IdAndStatus(bookerTwo.getId(), WAITING, pageable);
+        List<BookingDto> resultFour = bookingRepository.findAllByBooker_IdAndStatus(-1L, WAITING, pageable);
 
-        assertThat(resultOne, Matchers.is(equalTo(List.of(bookingOne, bookingSix))));
-        assertThat(resultTwo, Matchers.is(equalTo(List.of(bookingSeven))));
-        assertThat(resultThree, Matchers.is(equalTo(List.of(bookingThree))));
+        assertThat(resultOne, Matchers.is(equalTo(toBookingDtos(bookingOne, bookingSix))));
+        assertThat(resultTwo, Matchers.is(equalTo(toBookingDtos(bookingSeven))));
+        assertThat(resultThree, Matchers.is(equalTo(toBookingDtos(bookingThree))));
         assertThat(resultFour, hasSize(0));
     }
 
@@ -209,11 +217,11 @@ public class BookingRepositoryTest {
     public void findAllByBooker_IdAndEndBefore() {
         Pageable pageable = getPageable();
 
-        List<Booking> resultOne = bookingRepository
+        List<BookingDto> resultOne = bookingRepository
                 .findAllByBooker_IdAndEndBefore(bookerOne.getId(), FIXED_TIME, pageable);
-        List<Booking> resultTwo = bookingRepository.findAllByBooker_IdAndEndBefore(-1L, FIXED_TIME, pageable);
+        List<BookingDto> resultTwo = bookingRepository.findAllByBooker_IdAndEndBefore(-1L, FIXED_TIME, pageable);
 
-        assertThat(resultOne, Matchers.is(equalTo(List.of(bookingTwo))));
+        assertThat(resultOne, Matchers.is(equalTo(toBookingDtos(bookingTwo))));
         assertThat(resultTwo, hasSize(0));
     }
 
@@ -223,11 +231,11 @@ public class BookingRepositoryTest {
     public void findAllByBooker_IdAndStartAfter() {
         Pageable pageable = getPageable();
 
-        List<Booking> resultOne = bookingRepository
+        List<BookingDto> resultOne = bookingRepository
                 .findAllByBooker_IdAndStartAfter(bookerTwo.getId(), FIXED_TIME, pageable);
-        List<Booking> resultTwo = bookingRepository.findAllByBooker_IdAndStartAfter(-1L, FIXED_TIME, pageable);
+        List<BookingDto> resultTwo = bookingRepository.findAllByBooker_IdAndStartAfter(-1L, FIXED_TIME, pageable);
 
-        assertThat(resultOne, Matchers.is(equalTo(List.of(bookingSeven, bookingThree))));
+        assertThat(resultOne, Matchers.is(equalTo(toBookingDtos(bookingSeven, bookingThree))));
         assertThat(resultTwo, hasSize(0));
     }
 
@@ -237,28 +245,73 @@ public class BookingRepositoryTest {
     public void findAllByBooker_IdAndStartBeforeAndEndAfter() {
         Pageable pageable = getPageable();
 
-        List<Booking> resultOne = bookingRepository
+        List<BookingDto> resultOne = bookingRepository
                 .findAllByBooker_IdAndStartBeforeAndEndAfter(bookerOne.getId(), FIXED_TIME, FIXED_TIME, pageable);
 
-        assertThat(resultOne, Matchers.is(equalTo(List.of(bookingOne, bookingSix))));
+        assertThat(resultOne, Matchers.is(equalTo(toBookingDtos(bookingOne, bookingSix))));
     }
 
-    @DisplayName("Должен найти следующее бронирование для владельца вещи")
+    @DisplayName("Должен найти бронирования владельца после курсора")
     @Test
-    public void findNextBookingsForOwner() {
-        List<Booking> result = bookingRepository
-                .findNextBookingsForOwner(FIXED_TIME, List.of(itemOne.getId()), APPROVED);
+    public void findAllByOwnerAfter() {
+        Pageable pageable = PageRequest.of(0, 2);
+
+        List<BookingDto> resultOne = bookingRepository
+                .findAllByOwnerAfter(ownerOne.getId(), bookingThree.getStart(), bookingThree.getId(), pageable);
+        List<BookingDto> resultTwo = bookingRepository
+                .findAllByOwnerAfter(ownerOne.getId(), bookingOne.getStart(), bookingOne.getId(), pageable);
+        List<BookingDto> resultThree = bookingRepository
+                .findAllByOwnerAndStatusAfter(ownerOne.getId(), APPROVED, bookingFour.getStart(),
+                        bookingFour.getId(), pageable);
+
+        assertThat(resultOne, Matchers.is(equalTo(toBookingDtos(bookingFour, bookingOne))));
+        assertThat(resultTwo, Matchers.is(equalTo(toBookingDtos(bookingTwo))));
+        assertThat(resultThree, Matchers.is(equalTo(toBookingDtos(bookingOne))));
+    }
 
-        assertThat(result, Matchers.is(equalTo(List.of(bookingFour))));
+    @DisplayName("Должен найти бронирования пользователя после курсора с учетом id при равном времени начала")
+    @Test
+    public void findAllByBookerAfter() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Booking bookingNine = bookingRepository.save(new Booking(null,
+                FIXED_TIME, FIXED_TIME.plusDays(1), itemOne, bookerOne, WAITING));
+
+        List<BookingDto> resultOne = bookingRepository
+                .findAllByBookerAfter(bookerOne.getId(), bookingNine.getStart(), bookingNine.getId(), pageable);
+        List<BookingDto> resultTwo = bookingRepository
+                .findAllByBookerAndEndBeforeAfter(bookerOne.getId(), FIXED_TIME, bookingNine.getStart(),
+                        bookingNine.getId(), pageable);
+        List<BookingDto> resultThree = bookingRepository
+                .findAllByBookerAndCurrentAfter(bookerOne.getId(), FIXED_TIME, bookingNine.getStart(),
+                        bookingNine.getId(), pageable);
+
+        assertThat(resultOne, Matchers.is(equalTo(toBookingDtos(bookingFive, bookingOne, bookingSix, bookingTwo))));
+        assertThat(resultTwo, Matchers.is(equalTo(toBookingDtos(bookingTwo))));
+        assertThat(resultThree, Matchers.is(equalTo(toBookingDtos(bookingOne, bookingSix))));
     }
 
-    @DisplayName("Должен найти последнее бронирование для владельца вещи")
+    @DisplayName("Должен одним запросом посчитать бронирования пользователя и владельца по всем состояниям")
     @Test
-    public void findLastBookingsForOwner() {
-        List<Booking> result = bookingRepository
-                .findLastBookingsForOwner(FIXED_TIME, List.of(itemTwo.getId()), APPROVED);
+    public void countStates() {
+        BookingCountsDto resultOne = bookingRepository.countStatesByBooker(bookerOne.getId(), FIXED_TIME);
+        BookingCountsDto resultTwo = bookingRepository.countStatesByOwner(ownerTwo.getId(), FIXED_TIME);
+        BookingCountsDto resultThree = bookingRepository.countStatesByBooker(-1L, FIXED_TIME);
+
+        assertThat(resultOne, Matchers.is(equalTo(new BookingCountsDto(4L, 2L, 1L, 0L, 1L, 1L, 0L))));
+        assertThat(resultTwo, Matchers.is(equalTo(new BookingCountsDto(4L, 1L, 1L, 1L, 1L, 1L, 0L))));
+        assertThat(resultThree, Matchers.is(equalTo(new BookingCountsDto(0L, 0L, 0L, 0L, 0L, 0L, 0L))));
+    }
 
-        assertThat(result, hasSize(0));
+    @DisplayName("Должен найти бронирования вещей владельца с нужными статусами, пересекающие период")
+    @Test
+    public void findAllByOwnerAndStatusInOverlapping() {
+        List<BookingInfoView> resultOne = bookingRepository.findAllByOwnerAndStatusInOverlapping(ownerOne.getId(),
+                List.of(APPROVED, WAITING), FIXED_TIME.minusDays(1), FIXED_TIME.plusDays(2));
+        List<BookingInfoView> resultTwo = bookingRepository.findAllByOwnerAndStatusInOverlapping(ownerTwo.getId(),
+                List.of(REJECTED), FIXED_TIME, FIXED_TIME.plusDays(7));
+
+        assertThat(getIds(resultOne), containsInAnyOrder(bookingOne.getId(), bookingFour.getId()));
+        assertThat(getIds(resultTwo), containsInAnyOrder(bookingSeven.getId()));
     }
 
     @DisplayName("Должен проверить существование бронирования по id вещи, " +
@@ -287,4 +340,18 @@ public class BookingRepositoryTest {
     private Pageable getPageable() {
         return PageRequest.of(0 / 10, 10, Sort.by(Sort.Order.desc("start")));
     }
-}
\ No newline at end of file
+
+    private List<BookingDto> toBookingDtos(Booking... bookings) {
+        return Arrays.stream(bookings)
+                .map(booking -> new BookingDto(booking.getId(), booking.getStart(), booking.getEnd(),
+                        booking.getStatus(), new UserDto(booking.getBooker().getId(), booking.getBooker().getName(),
+                        booking.getBooker().getEmail()), new ItemDto(booking.getItem().getId(),
+                        booking.getItem().getName(), booking.getItem().getDescription(),
+                        booking.getItem().getAvailable(), null)))
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> getIds(List<BookingInfoView> bookings) {
+        return bookings.stream().map(BookingInfoView::getId).collect(Collectors.toList());
+    }
+}
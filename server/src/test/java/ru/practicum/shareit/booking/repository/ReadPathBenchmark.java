@@ -0,0 +1,97 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.BenchmarkSupport;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.dto.UserMapper;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static ru.practicum.shareit.BenchmarkSupport.saveBookings;
+import static ru.practicum.shareit.BenchmarkSupport.saveItems;
+
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+public class ReadPathBenchmark {
+    private static final int ROWS = 10000;
+    private static final int WARMUP = 10;
+    private static final int ITERATIONS = 30;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    private final ItemMapper itemMapper = new ItemMapper();
+    private final BookingMapper bookingMapper = new BookingMapper(itemMapper, new UserMapper());
+    private BenchmarkSupport benchmark;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    public void setUp() {
+        benchmark = new BenchmarkSupport(entityManager, WARMUP, ITERATIONS);
+        owner = userRepository.save(new User(null, "Ivan", "ivan@mail.ru"));
+        booker = userRepository.save(new User(null, "Sofia", "sofia@mail.ru"));
+
+        List<Item> items = saveItems(itemRepository, owner, ROWS);
+        saveBookings(bookingRepository, items, booker, 1);
+        benchmark.flushAndClear();
+        entityManager.unwrap(Session.class).setDefaultReadOnly(true);
+    }
+
+    @DisplayName("Замер времени чтения списков через сущности и через проекции на DTO")
+    @Test
+    public void entityVersusProjectionLatency() {
+        Pageable bookingPage = PageRequest.of(0, ROWS, Sort.by(Sort.Order.desc("start"), Sort.Order.desc("id")));
+        Pageable itemPage = PageRequest.of(0, ROWS, Sort.by(Sort.Order.asc("id")));
+
+        long bookingsEntity = benchmark.measure(ROWS, () -> bookingMapper.toBookingDtoCollection(entityManager
+                .createQuery("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker " +
+                        "WHERE b.booker.id = :userId ORDER BY b.start DESC, b.id DESC", Booking.class)
+                .setParameter("userId", booker.getId())
+                .getResultList()));
+        long bookingsProjection = benchmark.measure(ROWS, () -> bookingRepository.findAllByBooker_Id(booker.getId(),
+                bookingPage));
+        long itemsEntity = benchmark.measure(ROWS, () -> itemMapper.toItemDtoCollection(entityManager
+                .createQuery("SELECT i FROM Item i WHERE i.owner.id = :userId ORDER BY i.id", Item.class)
+                .setParameter("userId", owner.getId())
+                .getResultList()));
+        long itemsProjection = benchmark.measure(ROWS, () -> benchmark.findItemsByOwnerId(owner.getId(), ROWS));
+        long searchEntity = benchmark.measure(ROWS, () -> itemMapper.toItemDtoCollection(entityManager
+                .createQuery("SELECT i FROM Item i WHERE i.available = TRUE AND (UPPER(i.description) " +
+                        "LIKE UPPER(:text) OR UPPER(i.name) LIKE UPPER(:text)) ORDER BY i.id", Item.class)
+                .setParameter("text", "%saw%")
+                .getResultList()));
+        long searchProjection = benchmark.measure(ROWS, () -> itemRepository.searchAvailable("saw", itemPage));
+
+        log.info("rows={}: bookings entity median={}us, projection median={}us", ROWS,
+                bookingsEntity, bookingsProjection);
+        log.info("rows={}: owner items entity median={}us, projection median={}us", ROWS,
+                itemsEntity, itemsProjection);
+        log.info("rows={}: search entity median={}us, projection median={}us", ROWS,
+                searchEntity, searchProjection);
+    }
+}
@@ -0,0 +1,159 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static ru.practicum.shareit.Constant.FIXED_TIME;
+import static ru.practicum.shareit.booking.BookingStatus.*;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class BookingServiceConcurrencyTest {
+    private static final int BOOKINGS = 2000;
+    private static final int THREADS = 32;
+    private static final int EXPIRY_CHUNK_SIZE = 20;
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private User owner;
+    private List<Booking> bookings;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(new User(null, "Ivan", "ivan@mail.ru"));
+        User booker = userRepository.save(new User(null, "Lisa", "lisa@mail.ru"));
+        Item item = itemRepository.save(new Item(null, "saw", "wood saw", true, owner, null));
+
+        List<Booking> waiting = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = FIXED_TIME.plusHours(i % 100);
+            waiting.add(new Booking(null, start, start.plusHours(3), item, booker, WAITING));
+        }
+        bookings = bookingRepository.saveAll(waiting);
+    }
+
+    @DisplayName("Должен подтвердить только непересекающиеся бронирования при параллельных подтверждениях")
+    @Test
+    public void shouldNotApproveOverlappingBookingsConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (Booking booking : bookings) {
+            futures.add(executor.submit(() -> {
+                startSignal.await();
+                try {
+                    bookingService.updateBooking(owner.getId(), booking.getId(), true);
+                } catch (ConflictException e) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        startSignal.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        List<Booking> approved = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == APPROVED)
+                .sorted((first, second) -> first.getStart().compareTo(second.getStart()))
+                .collect(Collectors.toList());
+        assertThat(approved, not(empty()));
+        assertThat(approved.size() + conflicts.get(), is(BOOKINGS));
+        for (int i = 1; i < approved.size(); i++) {
+            assertThat(approved.get(i).getStart(), not(lessThan(approved.get(i - 1).getEnd())));
+        }
+    }
+
+    @DisplayName("Должен не возвращать истёкшие бронирования в подтверждённые при параллельном истечении")
+    @Test
+    public void shouldNotUpdateExpiredBookingsConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        AtomicInteger updated = new AtomicInteger();
+        AtomicInteger notWaiting = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        Map<Long, BookingStatus> outcomes = new ConcurrentHashMap<>();
+        List<Future<?>> futures = new ArrayList<>();
+        Future<Integer> expired = executor.submit(() -> {
+            startSignal.await();
+            int total = 0;
+            int chunk;
+            do {
+                chunk = bookingService.expireBookings(LocalDateTime.now(), EXPIRY_CHUNK_SIZE);
+                total += chunk;
+            } while (chunk > 0);
+            return total;
+        });
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            boolean approved = i % 2 == 0;
+            futures.add(executor.submit(() -> {
+                startSignal.await();
+                try {
+                    bookingService.updateBooking(owner.getId(), booking.getId(), approved);
+                    updated.incrementAndGet();
+                    outcomes.put(booking.getId(), approved ? APPROVED : REJECTED);
+                } catch (ValidationException e) {
+                    notWaiting.incrementAndGet();
+                    outcomes.put(booking.getId(), EXPIRED);
+                } catch (ConflictException e) {
+                    conflicts.incrementAndGet();
+                    outcomes.put(booking.getId(), EXPIRED);
+                }
+                return null;
+            }));
+        }
+        startSignal.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        int expiredCount = expired.get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        List<Booking> result = bookingRepository.findAll();
+        assertThat(updated.get() + notWaiting.get() + conflicts.get(), is(BOOKINGS));
+        assertThat(updated.get() + expiredCount, is(BOOKINGS));
+        assertThat(notWaiting.get() + conflicts.get(), is(expiredCount));
+        assertThat(result, hasSize(BOOKINGS));
+        for (Booking booking : result) {
+            assertThat(booking.getStatus(), is(outcomes.get(booking.getId())));
+        }
+    }
+
+    @AfterEach
+    public void deleteAll() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+}
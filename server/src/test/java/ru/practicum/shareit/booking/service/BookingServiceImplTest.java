@@ -1,25 +1,43 @@
 package ru.practicum.shareit.booking.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.booking.dto.ItemOccupancyDto;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.export.ExportFormat;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.outbox.OutboxEventType;
+import ru.practicum.shareit.outbox.OutboxRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -37,13 +55,15 @@ public class BookingServiceImplTest {
     private final UserService userService;
     private final ItemService itemService;
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
+    private final OutboxRepository outboxRepository;
     private UserDto userDtoOneCreate;
     private UserDto userDtoTwoCreate;
     private ItemDto itemDtoOneCreate;
     private ItemDto itemDtoCreate;
     private BookingDtoCreate bookingDtoCreate;
     private BookingDtoCreate bookingDtoTwoCreate;
-    private final LocalDateTime current = LocalDateTime.now();
+    private final LocalDateTime current = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
 
     @BeforeEach
     public void setUp() {
@@ -135,6 +155,189 @@ public class BookingServiceImplTest {
         assertThat(bookingDtoUpdated.getStatus(), is(equalTo(REJECTED)));
     }
 
+    @DisplayName("Должен создать пакет бронирований и вернуть ошибку для каждого неподходящего")
+    @Test
+    public void shouldCreateBookings() {
+        UserDto userDtoOne = userService.createUser(userDtoOneCreate);
+        UserDto userDtoTwo = userService.createUser(userDtoTwoCreate);
+        ItemDto itemDtoOne = itemService.createItem(itemDtoOneCreate, userDtoOne.getId());
+        ItemDto itemDtoUnavailable = itemService.createItem(itemDtoCreate, userDtoOne.getId());
+        ItemDto itemDtoOwn = itemService.createItem(itemDtoOneCreate, userDtoTwo.getId());
+
+        bookingDtoCreate.setItemId(itemDtoOne.getId());
+        BookingDto bookingDtoApproved = bookingService.createBooking(bookingDtoCreate, userDtoTwo.getId());
+        bookingService.updateBooking(userDtoOne.getId(), bookingDtoApproved.getId(), true);
+
+        List<BookingBatchResultDto> results = bookingService.createBookings(List.of(
+                new BookingDtoCreate(itemDtoOne.getId(), current.plusDays(6), current.plusDays(7)),
+                new BookingDtoCreate(54321L, current.plusDays(6), current.plusDays(7)),
+                new BookingDtoCreate(itemDtoUnavailable.getId(), current.plusDays(6), current.plusDays(7)),
+                new BookingDtoCreate(itemDtoOwn.getId(), current.plusDays(6), current.plusDays(7)),
+                new BookingDtoCreate(itemDtoOne.getId(), current.plusDays(2), current.plusDays(3)),
+                new BookingDtoCreate(itemDtoOne.getId(), current.plusDays(8), current.plusDays(9))
+        ), userDtoTwo.getId());
+
+        assertThat(results, hasSize(6));
+        assertThat(results.get(0).getError(), nullValue());
+        assertThat(results.get(0).getBooking().getStatus(), is(equalTo(BookingStatus.WAITING)));
+        assertThat(results.get(0).getBooking().getItem(), is(equalTo(itemDtoOne)));
+        assertThat(bookingService.getOneBookingUser(results.get(0).getBooking().getId(), userDtoTwo.getId())
+                .getItem(), is(equalTo(itemDtoOne)));
+        assertThat(results.get(1).getError(), is(equalTo("The item with this id=54321 not found")));
+        assertThat(results.get(2).getError(), is(equalTo("The item with this id=" + itemDtoUnavailable.getId() +
+                " not found or not available")));
+        assertThat(results.get(3).getError(), is(equalTo("The owner cannot booking his item")));
+        assertThat(results.get(4).getError(), is(equalTo("The item with id=" + itemDtoOne.getId() +
+                " is already booked for this interval")));
+        assertThat(results.get(5).getBooking().getId(), is(greaterThan(results.get(0).getBooking().getId())));
+        assertThat(results.stream().map(BookingBatchResultDto::getIndex).collect(Collectors.toList()),
+                contains(0, 1, 2, 3, 4, 5));
+    }
+
+    @DisplayName("Должен выдать исключение при подтверждении бронирования, пересекающегося с подтверждённым")
+    @Test
+    public void shouldNotApproveOverlappingBooking() {
+        UserDto userDtoOne = userService.createUser(userDtoOneCreate);
+        UserDto userDtoTwo = userService.createUser(userDtoTwoCreate);
+        ItemDto itemDto = itemService.createItem(itemDtoOneCreate, userDtoOne.getId());
+
+        bookingDtoCreate.setItemId(itemDto.getId());
+        BookingDto bookingDtoFirst = bookingService.createBooking(bookingDtoCreate, userDtoTwo.getId());
+        BookingDto bookingDtoSecond = bookingService.createBooking(new BookingDtoCreate(itemDto.getId(),
+                current.plusDays(4), current.plusDays(6)), userDtoTwo.getId());
+        bookingService.updateBooking(userDtoOne.getId(), bookingDtoFirst.getId(), true);
+
+        ConflictException exception = assertThrows(
+                ConflictException.class,
+                () -> bookingService.updateBooking(userDtoOne.getId(), bookingDtoSecond.getId(), true)
+        );
+        assertEquals("The item with id=" + itemDto.getId() + " is already booked for this interval",
+                exception.getMessage());
+        assertThrows(
+                ConflictException.class,
+                () -> bookingService.createBooking(new BookingDtoCreate(itemDto.getId(),
+                        current.plusDays(2), current.plusDays(3)), userDtoTwo.getId())
+        );
+        assertThat(bookingService.updateBooking(userDtoOne.getId(), bookingDtoSecond.getId(), false)
+                .getStatus(), is(equalTo(REJECTED)));
+    }
+
+    @DisplayName("Должен подтвердить несколько ожидающих бронирований хозяина вещи без пересечений")
+    @Test
+    public void shouldApproveBookings() {
+        UserDto userDtoOne = userService.createUser(userDtoOneCreate);
+        UserDto userDtoTwo = userService.createUser(userDtoTwoCreate);
+        ItemDto itemDtoOne = itemService.createItem(itemDtoOneCreate, userDtoOne.getId());
+        ItemDto itemDtoTwo = itemService.createItem(itemDtoOneCreate, userDtoTwo.getId());
+
+        BookingDto bookingDtoFirst = bookingService.createBooking(new BookingDtoCreate(itemDtoOne.getId(),
+                current.plusDays(1), current.plusDays(3)), userDtoTwo.getId());
+        BookingDto bookingDtoOverlapping = bookingService.createBooking(new BookingDtoCreate(itemDtoOne.getId(),
+                current.plusDays(2), current.plusDays(4)), userDtoTwo.getId());
+        BookingDto bookingDtoLater = bookingService.createBooking(new BookingDtoCreate(itemDtoOne.getId(),
+                current.plusDays(3), current.plusDays(5)), userDtoTwo.getId());
+        BookingDto bookingDtoRejected = bookingService.createBooking(new BookingDtoCreate(itemDtoOne.getId(),
+                current.plusDays(10), current.plusDays(11)), userDtoTwo.getId());
+        BookingDto bookingDtoNotOwned = bookingService.createBooking(new BookingDtoCreate(itemDtoTwo.getId(),
+                current.plusDays(1), current.plusDays(2)), userDtoOne.getId());
+        bookingService.updateBooking(userDtoOne.getId(), bookingDtoRejected.getId(), false);
+
+        Collection<BookingDto> result = bookingService.updateBookings(userDtoOne.getId(), List.of(
+                bookingDtoFirst.getId(), bookingDtoOverlapping.getId(), bookingDtoLater.getId(),
+                bookingDtoRejected.getId(), bookingDtoNotOwned.getId(), 999L), true);
+
+        assertThat(result.stream().map(BookingDto::getId).collect(Collectors.toList()),
+                containsInAnyOrder(bookingDtoFirst.getId(), bookingDtoLater.getId()));
+        assertThat(result.stream().map(BookingDto::getStatus).collect(Collectors.toSet()),
+                contains(BookingStatus.APPROVED));
+        assertThat(bookingService.getOneBookingUser(bookingDtoOverlapping.getId(), userDtoOne.getId()).getStatus(),
+                is(equalTo(BookingStatus.WAITING)));
+        assertThat(bookingService.getOneBookingUser(bookingDtoRejected.getId(), userDtoOne.getId()).getStatus(),
+                is(equalTo(REJECTED)));
+        assertThat(bookingService.getOneBookingUser(bookingDtoNotOwned.getId(), userDtoTwo.getId()).getStatus(),
+                is(equalTo(BookingStatus.WAITING)));
+    }
+
+    @DisplayName("Должен отклонить несколько ожидающих бронирований хозяина вещи")
+    @Test
+    public void shouldRejectBookings() {
+        UserDto userDtoOne = userService.createUser(userDtoOneCreate);
+        UserDto userDtoTwo = userService.createUser(userDtoTwoCreate);
+        ItemDto itemDtoOne = itemService.createItem(itemDtoOneCreate, userDtoOne.getId());
+
+        BookingDto bookingDtoFirst = bookingService.createBooking(new BookingDtoCreate(itemDtoOne.getId(),
+                current.plusDays(1), current.plusDays(3)), userDtoTwo.getId());
+        BookingDto bookingDtoSecond = bookingService.createBooking(new BookingDtoCreate(itemDtoOne.getId(),
+                current.plusDays(2), current.plusDays(4)), userDtoTwo.getId());
+
+        Collection<BookingDto> result = bookingService.updateBookings(userDtoOne.getId(),
+                List.of(bookingDtoFirst.getId(), bookingDtoSecond.getId()), false);
+        Collection<BookingDto> resultForBooker = bookingService.updateBookings(userDtoTwo.getId(),
+                List.of(bookingDtoFirst.getId()), false);
+
+        assertThat(result.stream().map(BookingDto::getId).collect(Collectors.toList()),
+                containsInAnyOrder(bookingDtoFirst.getId(), bookingDtoSecond.getId()));
+        assertThat(result.stream().map(BookingDto::getStatus).collect(Collectors.toSet()), contains(REJECTED));
+        assertThat(resultForBooker, empty());
+    }
+
+    @SneakyThrows
+    @DisplayName("Должен записать события бронирования в outbox в той же транзакции")
+    @Test
+    public void shouldWriteBookingEventsToOutbox() {
+        UserDto userDtoOne = userService.createUser(userDtoOneCreate);
+        UserDto userDtoTwo = userService.createUser(userDtoTwoCreate);
+        ItemDto itemDtoOne = itemService.createItem(itemDtoOneCreate, userDtoOne.getId());
+
+        bookingDtoCreate.setItemId(itemDtoOne.getId());
+        BookingDto bookingDtoFirst = bookingService.createBooking(bookingDtoCreate, userDtoTwo.getId());
+        BookingDto bookingDtoSecond = bookingService.createBookings(List.of(new BookingDtoCreate(itemDtoOne.getId(),
+                current.plusDays(6), current.plusDays(7))), userDtoTwo.getId()).get(0).getBooking();
+        bookingService.updateBooking(userDtoOne.getId(), bookingDtoFirst.getId(), true);
+        bookingService.updateBookings(userDtoOne.getId(), List.of(bookingDtoSecond.getId()), false);
+
+        List<OutboxEvent> events = outboxRepository.findAll(Sort.by("id")).stream()
+                .filter(event -> List.of(bookingDtoFirst.getId(), bookingDtoSecond.getId())
+                        .contains(event.getAggregateId()))
+                .collect(Collectors.toList());
+
+        assertThat(events.stream().map(OutboxEvent::getType).collect(Collectors.toList()),
+                contains(OutboxEventType.BOOKING_CREATED, OutboxEventType.BOOKING_CREATED,
+                        OutboxEventType.BOOKING_APPROVED, OutboxEventType.BOOKING_REJECTED));
+        assertThat(events.stream().map(OutboxEvent::getDispatched).collect(Collectors.toList()), everyItem(nullValue()));
+        assertThat(objectMapper.readValue(events.get(2).getPayload(), BookingDto.class).getStatus(),
+                is(equalTo(BookingStatus.APPROVED)));
+    }
+
+    @DisplayName("Должен перевести начавшиеся ожидающие бронирования в EXPIRED порциями")
+    @Test
+    public void shouldExpireStartedWaitingBookingsInChunks() {
+        UserDto userDtoOne = userService.createUser(userDtoOneCreate);
+        UserDto userDtoTwo = userService.createUser(userDtoTwoCreate);
+        ItemDto itemDtoOne = itemService.createItem(itemDtoOneCreate, userDtoOne.getId());
+
+        BookingDto bookingDtoFirst = bookingService.createBooking(new BookingDtoCreate(itemDtoOne.getId(),
+                current.minusDays(3), current.minusDays(2)), userDtoTwo.getId());
+        BookingDto bookingDtoSecond = bookingService.createBooking(new BookingDtoCreate(itemDtoOne.getId(),
+                current.minusHours(2), current.plusHours(2)), userDtoTwo.getId());
+        bookingDtoCreate.setItemId(itemDtoOne.getId());
+        BookingDto bookingDtoFuture = bookingService.createBooking(bookingDtoCreate, userDtoTwo.getId());
+
+        assertThat(bookingService.expireBookings(current, 1), is(1));
+        assertThat(bookingService.expireBookings(current, 1), is(1));
+        assertThat(bookingService.expireBookings(current, 1), is(0));
+
+        Collection<BookingDto> expired = bookingService.getAllBookingsOwner(userDtoOne.getId(),
+                BookingState.EXPIRED, 0, 10);
+        assertThat(expired.stream().map(BookingDto::getId).collect(Collectors.toList()),
+                contains(bookingDtoSecond.getId(), bookingDtoFirst.getId()));
+        assertThat(bookingService.getAllBookingsBooker(userDtoTwo.getId(), WAITING, 0, 10).stream()
+                .map(BookingDto::getId).collect(Collectors.toList()), contains(bookingDtoFuture.getId()));
+        assertThat(bookingService.getBookingCountsOwner(userDtoOne.getId()).getExpired(), is(2L));
+        assertThrows(ValidationException.class,
+                () -> bookingService.updateBooking(userDtoOne.getId(), bookingDtoSecond.getId(), true));
+    }
+
     @DisplayName("Должен выдать исключение, если статус до обновления бронирования не WAITING")
     @Test
     public void shouldNotUpdateBookingIfStatusNotWaiting() {
@@ -340,4 +543,129 @@ public class BookingServiceImplTest {
 
         assertThat(result, contains(bookingDtoCreated));
     }
-}
\ No newline at end of file
+
+    @DisplayName("Должен постранично показать бронирования пользователя и владельца по курсору")
+    @Test
+    public void shouldGetAllBookingsAfterCursor() {
+        UserDto userDtoOne = userService.createUser(userDtoOneCreate);
+        UserDto userDtoTwo = userService.createUser(userDtoTwoCreate);
+        ItemDto itemDto = itemService.createItem(itemDtoOneCreate, userDtoOne.getId());
+
+        bookingDtoTwoCreate.setItemId(itemDto.getId());
+        bookingDtoCreate.setItemId(itemDto.getId());
+        BookingDto bookingDtoCreatedPast = bookingService.createBooking(bookingDtoTwoCreate, userDtoTwo.getId());
+        bookingService.createBooking(bookingDtoCreate, userDtoTwo.getId());
+        Collection<BookingDto> firstPage = bookingService
+                .getAllBookingsBooker(userDtoTwo.getId(), BookingState.ALL, 0, 1);
+        BookingDto first = firstPage.iterator().next();
+        KeysetCursor cursor = KeysetCursor.of(first.getStart(), first.getId());
+
+        Collection<BookingDto> resultBooker = bookingService
+                .getAllBookingsBookerAfter(userDtoTwo.getId(), BookingState.ALL, cursor, 2);
+        Collection<BookingDto> resultOwner = bookingService
+                .getAllBookingsOwnerAfter(userDtoOne.getId(), BookingState.ALL, cursor, 2);
+        Collection<BookingDto> resultFuture = bookingService
+                .getAllBookingsOwnerAfter(userDtoOne.getId(), BookingState.FUTURE, cursor, 2);
+        Collection<BookingDto> resultWaiting = bookingService
+                .getAllBookingsBookerAfter(userDtoTwo.getId(), WAITING, cursor, 2);
+
+        assertThat(resultBooker, contains(bookingDtoCreatedPast));
+        assertThat(resultOwner, contains(bookingDtoCreatedPast));
+        assertThat(resultFuture, empty());
+        assertThat(resultWaiting, contains(bookingDtoCreatedPast));
+    }
+
+    @DisplayName("Должен выдать исключение, если курсор имеет неверный формат")
+    @Test
+    public void shouldNotParseInvalidCursor() {
+        ValidationException exception = assertThrows(
+                ValidationException.class,
+                () -> KeysetCursor.parse("yesterday,1")
+        );
+        assertEquals("Invalid cursor: yesterday,1", exception.getMessage());
+    }
+
+    @DisplayName("Должен посчитать бронирования по состояниям и сбросить кэш после изменения статуса")
+    @Test
+    public void shouldGetBookingCounts() {
+        UserDto userDtoOne = userService.createUser(userDtoOneCreate);
+        UserDto userDtoTwo = userService.createUser(userDtoTwoCreate);
+        ItemDto itemDto = itemService.createItem(itemDtoOneCreate, userDtoOne.getId());
+        bookingDtoCreate.setItemId(itemDto.getId());
+        bookingDtoTwoCreate.setItemId(itemDto.getId());
+        bookingService.createBooking(bookingDtoCreate, userDtoTwo.getId());
+        BookingDto bookingDtoPast = bookingService.createBooking(bookingDtoTwoCreate, userDtoTwo.getId());
+
+        BookingCountsDto resultOwner = bookingService.getBookingCountsOwner(userDtoOne.getId());
+        bookingService.updateBooking(userDtoOne.getId(), bookingDtoPast.getId(), false);
+        BookingCountsDto resultBooker = bookingService.getBookingCountsBooker(userDtoTwo.getId());
+        BookingCountsDto resultOwnerUpdated = bookingService.getBookingCountsOwner(userDtoOne.getId());
+
+        assertThat(resultOwner, is(equalTo(new BookingCountsDto(2L, 0L, 1L, 1L, 2L, 0L, 0L))));
+        assertThat(resultBooker, is(equalTo(new BookingCountsDto(2L, 0L, 1L, 1L, 1L, 1L, 0L))));
+        assertThat(resultOwnerUpdated, is(equalTo(resultBooker)));
+    }
+
+    @DisplayName("Должен выдать исключение при подсчёте бронирований несуществующего пользователя")
+    @Test
+    public void shouldNotGetBookingCountsIfUserDoesNotExist() {
+        NotFoundException exception = assertThrows(
+                NotFoundException.class,
+                () -> bookingService.getBookingCountsBooker(500L)
+        );
+        assertEquals("User with id=500 not found", exception.getMessage());
+    }
+
+    @DisplayName("Должен выгрузить все бронирования владельца в NDJSON по одному на строку")
+    @Test
+    public void shouldExportBookingsOwnerToNdjson() {
+        UserDto userDtoOne = userService.createUser(userDtoOneCreate);
+        UserDto userDtoTwo = userService.createUser(userDtoTwoCreate);
+        ItemDto itemDto = itemService.createItem(itemDtoOneCreate, userDtoOne.getId());
+        bookingDtoCreate.setItemId(itemDto.getId());
+        bookingDtoTwoCreate.setItemId(itemDto.getId());
+        BookingDto bookingDtoFuture = bookingService.createBooking(bookingDtoCreate, userDtoTwo.getId());
+        BookingDto bookingDtoPast = bookingService.createBooking(bookingDtoTwoCreate, userDtoTwo.getId());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        bookingService.exportBookingsOwner(userDtoOne.getId(), ExportFormat.NDJSON, outputStream);
+        List<BookingDto> result = outputStream.toString(StandardCharsets.UTF_8).lines()
+                .map(this::readBookingDto)
+                .collect(Collectors.toList());
+
+        assertThat(result, contains(bookingDtoFuture, bookingDtoPast));
+    }
+
+    @DisplayName("Должен построить календарь занятости вещей владельца по дням месяца")
+    @Test
+    public void shouldGetCalendarOwner() {
+        UserDto userDtoOne = userService.createUser(userDtoOneCreate);
+        UserDto userDtoTwo = userService.createUser(userDtoTwoCreate);
+        ItemDto itemDtoOne = itemService.createItem(itemDtoOneCreate, userDtoOne.getId());
+        ItemDto itemDtoTwo = itemService.createItem(new ItemDto(null, "rake", "leaf rake", true, null),
+                userDtoOne.getId());
+        LocalDateTime month = LocalDateTime.of(2030, 3, 1, 0, 0);
+        BookingDto bookingDtoApproved = bookingService.createBooking(new BookingDtoCreate(itemDtoOne.getId(),
+                month.minusHours(36), month.plusDays(1)), userDtoTwo.getId());
+        bookingService.createBooking(new BookingDtoCreate(itemDtoOne.getId(),
+                month.plusDays(9).plusHours(10), month.plusDays(11).plusHours(9)), userDtoTwo.getId());
+        bookingService.createBooking(new BookingDtoCreate(itemDtoOne.getId(),
+                month.plusDays(30).plusHours(22), month.plusDays(32)), userDtoTwo.getId());
+        BookingDto bookingDtoRejected = bookingService.createBooking(new BookingDtoCreate(itemDtoTwo.getId(),
+                month.plusDays(3), month.plusDays(5)), userDtoTwo.getId());
+        bookingService.updateBooking(userDtoOne.getId(), bookingDtoApproved.getId(), true);
+        bookingService.updateBooking(userDtoOne.getId(), bookingDtoRejected.getId(), false);
+
+        List<ItemOccupancyDto> result = bookingService.getCalendarOwner(userDtoOne.getId(), YearMonth.of(2030, 3));
+        List<ItemOccupancyDto> resultEmpty = bookingService.getCalendarOwner(userDtoTwo.getId(),
+                YearMonth.of(2030, 3));
+
+        assertThat(result, contains(new ItemOccupancyDto(itemDtoOne.getId(), 1L, (7L << 9) | (1L << 30))));
+        assertThat(resultEmpty, empty());
+    }
+
+    @SneakyThrows
+    private BookingDto readBookingDto(String line) {
+        return objectMapper.readValue(line, BookingDto.class);
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static ru.practicum.shareit.Constant.DATE_FORMAT;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:test",
+        "spring.jpa.properties.hibernate.generate_statistics=true"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class BookingServiceStatementCountTest {
+    private static final int ITEMS = 10;
+    private static final int BOOKERS = 10;
+    private static final int PAGE_SIZE = 50;
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final LocalDateTime current = LocalDateTime.now();
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+    private Booking booking;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(new User(null, "Ivan", "ivan@mail.ru"));
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            bookers.add(new User(null, "booker" + i, "booker" + i + "@mail.ru"));
+        }
+        bookers = userRepository.saveAll(bookers);
+        booker = bookers.get(0);
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Item(null, "saw" + i, "wood saw", true, owner, null));
+        }
+        items = itemRepository.saveAll(items);
+
+        BookingStatus[] statuses = BookingStatus.values();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < ITEMS * BOOKERS; i++) {
+            LocalDateTime start = current.plusDays(i % 7 - 3L);
+            bookings.add(new Booking(null, start, start.plusDays(2), items.get(i % ITEMS),
+                    i % 3 == 0 ? booker : bookers.get(i % BOOKERS), statuses[i % statuses.length]));
+        }
+        booking = bookingRepository.saveAll(bookings).get(0);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @DisplayName("Должен вернуть бронирование по id одним запросом")
+    @Test
+    public void shouldGetOneBookingUserWithOneStatement() {
+        assertThat(countStatements(() -> bookingService.getOneBookingUser(booking.getId(), owner.getId())),
+                is(1L));
+    }
+
+    @DisplayName("Должен вернуть страницу бронирований пользователя постоянным числом запросов")
+    @Test
+    public void shouldGetAllBookingsBookerWithConstantStatements() {
+        for (BookingState state : BookingState.values()) {
+            assertThat(state.name(), countStatements(() -> bookingService
+                    .getAllBookingsBooker(booker.getId(), state, 0, PAGE_SIZE)), is(2L));
+            assertThat(state.name(), countStatements(() -> bookingService
+                    .getAllBookingsBookerAfter(booker.getId(), state, getFirstCursor(), PAGE_SIZE)), is(2L));
+        }
+    }
+
+    @DisplayName("Должен вернуть страницу бронирований хозяина вещей постоянным числом запросов")
+    @Test
+    public void shouldGetAllBookingsOwnerWithConstantStatements() {
+        for (BookingState state : BookingState.values()) {
+            assertThat(state.name(), countStatements(() -> bookingService
+                    .getAllBookingsOwner(owner.getId(), state, 0, PAGE_SIZE)), is(2L));
+            assertThat(state.name(), countStatements(() -> bookingService
+                    .getAllBookingsOwnerAfter(owner.getId(), state, getFirstCursor(), PAGE_SIZE)), is(2L));
+        }
+    }
+
+    @DisplayName("Должен вернуть непустую страницу со связанными вещами и пользователями")
+    @Test
+    public void shouldGetAllBookingsOwnerWithItemsAndBookers() {
+        Collection<BookingDto> result = bookingService.getAllBookingsOwner(owner.getId(), BookingState.ALL,
+                0, PAGE_SIZE);
+
+        assertThat(result, hasSize(PAGE_SIZE));
+        assertThat(result, everyItem(hasProperty("item", hasProperty("name", startsWith("saw")))));
+        assertThat(result, everyItem(hasProperty("booker", hasProperty("email", endsWith("@mail.ru")))));
+    }
+
+    @AfterEach
+    public void deleteAll() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private long countStatements(Supplier<?> call) {
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private KeysetCursor getFirstCursor() {
+        return KeysetCursor.parse(current.plusYears(1).format(DATE_FORMAT) + "," + Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class VersionedLruCacheTest {
+    private VersionedLruCache<String, String> cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new VersionedLruCache<>("shareit.test.cache", Tags.empty(), 2, Duration.ofMinutes(1),
+                new SimpleMeterRegistry());
+    }
+
+    @DisplayName("Должен сохранять загруженное значение, если во время загрузки сброшен другой ключ")
+    @Test
+    public void shouldCacheLoadedValueIfOtherKeyIsEvicted() {
+        cache.get("b", () -> {
+            cache.evict("a");
+            return "b1";
+        });
+
+        assertThat(cache.getIfPresent("b"), is(equalTo("b1")));
+    }
+
+    @DisplayName("Не должен сохранять загруженное значение, если во время загрузки сброшен этот же ключ")
+    @Test
+    public void shouldNotCacheLoadedValueIfSameKeyIsEvicted() {
+        cache.get("a", () -> {
+            cache.evict("a");
+            return "a1";
+        });
+
+        assertThat(cache.getIfPresent("a"), nullValue());
+        assertThat(cache.get("a", () -> "a2"), is(equalTo("a2")));
+        assertThat(cache.getIfPresent("a"), is(equalTo("a2")));
+    }
+
+    @DisplayName("Не должен сохранять загрузку, начатую до вытеснения старых отметок о сбросе")
+    @Test
+    public void shouldNotCacheLoadOlderThanForgottenEvictions() {
+        long loadVersion = cache.getVersion();
+        cache.evict("a");
+        cache.evict("b");
+        cache.evict("c");
+        cache.put("a", "a1", loadVersion);
+        cache.put("d", "d1", loadVersion);
+
+        assertThat(cache.size(), is(equalTo(0)));
+        cache.put("d", "d1", cache.getVersion());
+        assertThat(cache.getIfPresent("d"), is(equalTo("d1")));
+    }
+
+    @DisplayName("Не должен сохранять загрузку, начатую до сброса всего кэша")
+    @Test
+    public void shouldNotCacheLoadOlderThanEvictAll() {
+        cache.get("a", () -> {
+            cache.evictAll();
+            return "a1";
+        });
+
+        assertThat(cache.size(), is(equalTo(0)));
+    }
+}
@@ -7,10 +7,12 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
@@ -19,8 +21,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.equalTo;
-import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.*;
 import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
 
 @DataJpaTest
@@ -62,20 +63,6 @@ public class CommentRepositoryTest {
         commentThree = commentRepository.save(new Comment(null, "ok", LocalDateTime.now(), itemTwo, bookerTwo));
     }
 
-    @DisplayName("Должен вернуть все комментарии по id вещи")
-    @Test
-    public void findAllByItem_Id() {
-        List<Comment> result = commentRepository.findAllByItem_Id(itemOne.getId()).orElse(new ArrayList<>());
-        List<Comment> resultTwo = commentRepository.findAllByItem_Id(itemTwo.getId()).orElse(new ArrayList<>());
-        List<Comment> resultThree = commentRepository.findAllByItem_Id(-1L).orElse(new ArrayList<>());
-
-        assertThat(result, hasSize(1));
-        assertThat(result, Matchers.is(equalTo(List.of(commentOne))));
-        assertThat(resultTwo, hasSize(2));
-        assertThat(resultTwo, Matchers.is(equalTo(List.of(commentTwo, commentThree))));
-        assertThat(resultThree, hasSize(0));
-    }
-
     @DisplayName("Должен вернуть все комментарии для всех переданных id вещей")
     @Test
     public void findAllByItem_IdIn() {
@@ -92,6 +79,38 @@ public class CommentRepositoryTest {
         assertThat(resultThree, hasSize(0));
     }
 
+    @DisplayName("Должен вернуть самые новые комментарии каждой вещи и их общее количество")
+    @Test
+    public void findNewestByItemIdIn() {
+        List<CommentView> result = commentRepository.findNewestByItemIdIn(List.of(itemOne.getId(),
+                itemTwo.getId()), 1);
+        List<CommentView> resultTwo = commentRepository.findNewestByItemId(itemTwo.getId(), 5);
+
+        assertThat(result, contains(
+                allOf(hasProperty("id", is(commentOne.getId())), hasProperty("total", is(1L))),
+                allOf(hasProperty("id", is(commentThree.getId())), hasProperty("authorName", is("Sveta")),
+                        hasProperty("total", is(2L)))));
+        assertThat(resultTwo, contains(hasProperty("id", is(commentThree.getId())),
+                hasProperty("id", is(commentTwo.getId()))));
+        assertThat(resultTwo.get(1).getTotal(), is(2L));
+    }
+
+    @DisplayName("Должен вернуть комментарии вещи от новых к старым после курсора")
+    @Test
+    public void findAllDtoByItemIdAfter() {
+        List<CommentDto> firstPage = commentRepository.findAllDtoByItemId(itemTwo.getId(), PageRequest.of(0, 1));
+        KeysetCursor cursor = KeysetCursor.of(firstPage.get(0).getCreated(), firstPage.get(0).getId());
+        List<CommentDto> secondPage = commentRepository.findAllDtoByItemIdAfter(itemTwo.getId(),
+                cursor.getTimestamp(), cursor.getId(), PageRequest.of(0, 1));
+        KeysetCursor secondCursor = KeysetCursor.of(secondPage.get(0).getCreated(), secondPage.get(0).getId());
+        List<CommentDto> thirdPage = commentRepository.findAllDtoByItemIdAfter(itemTwo.getId(),
+                secondCursor.getTimestamp(), secondCursor.getId(), PageRequest.of(0, 1));
+
+        assertThat(firstPage, contains(hasProperty("id", is(commentThree.getId()))));
+        assertThat(secondPage, contains(hasProperty("id", is(commentTwo.getId()))));
+        assertThat(thirdPage, hasSize(0));
+    }
+
     @AfterEach
     public void deleteAll() {
         commentRepository.deleteAll();
@@ -10,11 +10,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
 import ru.practicum.shareit.item.ItemController;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoInfo;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -25,6 +27,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.Constant.*;
@@ -201,6 +204,24 @@ public class ItemControllerTest {
         verify(itemService).searchItems(anyString(), anyLong(), anyInt(), anyInt());
     }
 
+    @DisplayName("Должен подсказать названия по префиксу")
+    @Test
+    @SneakyThrows
+    public void shouldSuggestItems() {
+        when(itemService.suggestItems("dr", 1L, 2)).thenReturn(List.of("drill", "driver"));
+
+        mvc.perform(get("/items/suggest")
+                        .param("prefix", "dr")
+                        .param("limit", "2")
+                        .header(HEADER_USER, 1))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0]").value("drill"))
+                .andExpect(jsonPath("$[1]").value("driver"))
+                .andExpect(status().isOk());
+
+        verify(itemService).suggestItems("dr", 1L, 2);
+    }
+
     @DisplayName("Должен создать комментарий")
     @Test
     @SneakyThrows
@@ -226,6 +247,68 @@ public class ItemControllerTest {
         verify(itemService).createComment(any(), anyLong(), anyLong());
     }
 
+    @DisplayName("Должен вернуть отзывы о вещи после курсора и курсор следующей страницы")
+    @Test
+    @SneakyThrows
+    public void shouldGetCommentsAfterCursor() {
+        List<CommentDto> comments = List.of(new CommentDto(3L, "ok", "Sveta", FIXED_TIME, 1L),
+                new CommentDto(2L, "cool", "Maria", FIXED_TIME, 1L));
+        KeysetCursor cursor = new KeysetCursor(FIXED_TIME.plusDays(1), 5L);
+
+        when(itemService.getCommentsAfter(anyLong(), anyLong(), any(), anyInt())).thenReturn(comments);
+
+        mvc.perform(get("/items/{itemId}/comments?size=2&after={after}", 1L, cursor.format())
+                        .header(HEADER_USER, 1))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(3L))
+                .andExpect(header().string(HEADER_NEXT_CURSOR,
+                        KeysetCursor.of(comments.get(1).getCreated(), comments.get(1).getId()).format()))
+                .andExpect(status().isOk());
+
+        verify(itemService).getCommentsAfter(1L, 1L, cursor, 2);
+    }
+
+    @DisplayName("Должен вернуть первую страницу отзывов о вещи без курсора следующей страницы, если она неполная")
+    @Test
+    @SneakyThrows
+    public void shouldGetFirstPageOfComments() {
+        when(itemService.getComments(anyLong(), anyLong(), anyInt()))
+                .thenReturn(List.of(new CommentDto(3L, "ok", "Sveta", FIXED_TIME, 1L)));
+
+        mvc.perform(get("/items/{itemId}/comments", 1L)
+                        .header(HEADER_USER, 1))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().doesNotExist(HEADER_NEXT_CURSOR))
+                .andExpect(status().isOk());
+
+        verify(itemService).getComments(1L, 1L, 10);
+    }
+
+    @DisplayName("Должен вернуть свободные интервалы вещи")
+    @Test
+    @SneakyThrows
+    public void shouldGetItemAvailability() {
+        List<TimeSlotDto> freeSlots = List.of(
+                new TimeSlotDto(FIXED_TIME, FIXED_TIME.plusDays(1)),
+                new TimeSlotDto(FIXED_TIME.plusDays(2), FIXED_TIME.plusDays(3))
+        );
+
+        when(itemService.getItemAvailability(anyLong(), anyLong(), any(), any())).thenReturn(freeSlots);
+
+        mvc.perform(get("/items/{itemId}/availability", 1L)
+                        .param("from", FIXED_TIME.format(DATE_FORMAT))
+                        .param("to", FIXED_TIME.plusDays(3).format(DATE_FORMAT))
+                        .header(HEADER_USER, 1))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].start").value(freeSlots.get(0).getStart().format(DATE_FORMAT)))
+                .andExpect(jsonPath("$[0].end").value(freeSlots.get(0).getEnd().format(DATE_FORMAT)))
+                .andExpect(jsonPath("$[1].start").value(freeSlots.get(1).getStart().format(DATE_FORMAT)))
+                .andExpect(jsonPath("$[1].end").value(freeSlots.get(1).getEnd().format(DATE_FORMAT)))
+                .andExpect(status().isOk());
+
+        verify(itemService).getItemAvailability(1L, 1L, FIXED_TIME, FIXED_TIME.plusDays(3));
+    }
+
     private ItemDtoInfo getItemDtoInfo() {
         return new ItemDtoInfo(1L, "saw", "wood saw", true,
                 new BookingDtoInfo(1L, 1L,
@@ -235,7 +318,8 @@ public class ItemControllerTest {
                 List.of(
                         new CommentDto(2L, "cool", "Maria", FIXED_TIME, 1L),
                         new CommentDto(3L, "ok", "Sveta", FIXED_TIME, 1L)
-                )
+                ),
+                2L
         );
     }
 
@@ -249,7 +333,7 @@ public class ItemControllerTest {
                         List.of(
                                 new CommentDto(2L, "cool", "Maria", FIXED_TIME, 1L),
                                 new CommentDto(3L, "ok", "Sveta", FIXED_TIME, 1L)
-                        )),
+                        ), 2L),
                 new ItemDtoInfo(2L, "rake", "leaf rake", true,
                         new BookingDtoInfo(3L, 1L, FIXED_TIME.minusDays(3), FIXED_TIME.minusDays(1),
                                 APPROVED, 2L
@@ -257,7 +341,7 @@ public class ItemControllerTest {
                         new BookingDtoInfo(4L, 1L, FIXED_TIME.plusDays(1), FIXED_TIME.plusDays(2),
                                 APPROVED, 2L
                         ),
-                        new ArrayList<>())
+                        new ArrayList<>(), 0L)
         );
     }
 }
\ No newline at end of file
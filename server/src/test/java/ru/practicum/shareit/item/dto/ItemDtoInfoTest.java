@@ -38,6 +38,7 @@ public class ItemDtoInfoTest {
                         WAITING, 1L))
                 .nextBooking(null)
                 .comments(List.of(new CommentDto(null, "ok", "Sofia", FIXED_TIME, 1L)))
+                .commentCount(1L)
                 .build();
 
         JsonContent<ItemDtoInfo> itemDtoInfoJson = this.json.write(itemDtoInfo);
@@ -69,6 +70,7 @@ public class ItemDtoInfoTest {
         assertThat(itemDtoInfoJson).extractingJsonPathValue("$.comments[0].created")
                 .isEqualTo(FIXED_TIME.format(DATE_FORMAT));
         assertThat(itemDtoInfoJson).extractingJsonPathValue("$.comments[0].itemId").isEqualTo(1);
+        assertThat(itemDtoInfoJson).extractingJsonPathValue("$.commentCount").isEqualTo(1);
     }
 
     @DisplayName("Тест на корректную десериализацию объекта ItemDtoInfo")
@@ -77,7 +79,7 @@ public class ItemDtoInfoTest {
     public void shouldDeserialize() {
         ItemDtoInfo itemDtoInfo = new ItemDtoInfo(null, "hoe", "garden hoe", true,
                 new BookingDtoInfo(null, 1L, FIXED_TIME, FIXED_TIME.plusDays(3), WAITING, 1L),
-                null, List.of(new CommentDto(null, "ok", "Sofia", FIXED_TIME, 1L)));
+                null, List.of(new CommentDto(null, "ok", "Sofia", FIXED_TIME, 1L)), 1L);
 
         var resource = new ClassPathResource("itemDtoInfo.json");
         String content = Files.readString(resource.getFile().toPath());
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.item.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import ru.practicum.shareit.BenchmarkSupport;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentMapper;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemOverviewView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.BenchmarkSupport.saveBookings;
+import static ru.practicum.shareit.BenchmarkSupport.saveItems;
+import static ru.practicum.shareit.Constant.FIXED_TIME;
+import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
+
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+public class ItemOverviewBenchmark {
+    private static final int ITEMS = 2000;
+    private static final int[] PAGE_SIZES = {100, 1000, 2000};
+    private static final int BOOKINGS_PER_ITEM = 10;
+    private static final int COMMENTS_PER_ITEM = 2;
+    private static final int WARMUP = 10;
+    private static final int ITERATIONS = 30;
+
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    private final CommentMapper commentMapper = new CommentMapper();
+    private BenchmarkSupport benchmark;
+    private User owner;
+
+    @BeforeEach
+    public void setUp() {
+        benchmark = new BenchmarkSupport(entityManager, WARMUP, ITERATIONS);
+        owner = userRepository.save(new User(null, "Ivan", "ivan@mail.ru"));
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < COMMENTS_PER_ITEM; i++) {
+            bookers.add(userRepository.save(new User(null, "booker" + i, "booker" + i + "@mail.ru")));
+        }
+
+        List<Item> items = saveItems(itemRepository, owner, ITEMS);
+        saveBookings(bookingRepository, items, bookers.get(0), BOOKINGS_PER_ITEM);
+
+        List<Comment> comments = new ArrayList<>();
+        for (Item item : items) {
+            for (User booker : bookers) {
+                comments.add(new Comment(null, "good", FIXED_TIME, item, booker));
+            }
+        }
+        commentRepository.saveAll(comments);
+        entityManager.flush();
+        itemRepository.updateBookingPointers(items.stream().map(Item::getId).collect(Collectors.toList()),
+                FIXED_TIME, APPROVED.name());
+        entityManager.clear();
+    }
+
+    @DisplayName("Замер времени чтения страницы вещей хозяина по отдельным запросам и одним проходом")
+    @Test
+    public void ownerOverviewLatency() {
+        for (int pageSize : PAGE_SIZES) {
+            long separate = benchmark.measure(pageSize, () -> {
+                List<ItemDto> items = benchmark.findItemsByOwnerId(owner.getId(), pageSize);
+                List<Long> ids = items.stream().map(ItemDto::getId).collect(Collectors.toList());
+                commentMapper.toCommentDtoList(commentRepository.findAllByItem_IdIn(ids).orElseThrow());
+                benchmark.findLastAndNextBookings(FIXED_TIME, ids);
+                return items;
+            });
+            long combined = benchmark.measure(pageSize, () -> {
+                List<ItemOverviewView> items = itemRepository.findOverviewByOwnerId(owner.getId(), 0, pageSize);
+                commentRepository.findAllDtoByItemIdIn(items.stream().map(ItemOverviewView::getId)
+                        .collect(Collectors.toList()));
+                return items;
+            });
+
+            log.info("items={}, page={}: separate queries median={}us, overview median={}us",
+                    ITEMS, pageSize, separate, combined);
+        }
+    }
+}
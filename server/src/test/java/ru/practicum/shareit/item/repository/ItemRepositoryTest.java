@@ -1,6 +1,5 @@
 package ru.practicum.shareit.item.repository;
 
-import org.hamcrest.Matchers;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,6 +10,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
@@ -19,8 +19,6 @@ import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 public class ItemRepositoryTest {
@@ -47,53 +45,25 @@ public class ItemRepositoryTest {
                 false, ownerTwo, null));
     }
 
-    @DisplayName("Должен найти все предметы по id владельца")
-    @Test
-    public void findAllByOwnerId() {
-        Pageable pageable = getPageable(0, 10);
-        List<Item> result = itemRepository.findAllByOwnerId(ownerOne.getId(), pageable);
-        List<Item> resultTwo = itemRepository.findAllByOwnerId(ownerTwo.getId(), pageable);
-        List<Item> resultThree = itemRepository.findAllByOwnerId(-1L, pageable);
-
-        assertThat(result, hasSize(1));
-        assertThat(result, contains(itemOne));
-        assertThat(resultTwo, hasSize(2));
-        assertThat(resultTwo, Matchers.is(equalTo(List.of(itemTwo, itemThree))));
-        assertThat(resultThree, hasSize(0));
-    }
-
-    @DisplayName("Должен подтвердить или опровергнуть наличие вещи по ее id и id владельца")
-    @Test
-    public void existsByIdAndOwner_Id() {
-        boolean result = itemRepository.existsByIdAndOwner_Id(-1L, -1L);
-        boolean resultTwo = itemRepository.existsByIdAndOwner_Id(itemOne.getId(), ownerOne.getId());
-
-        assertFalse(result);
-        assertTrue(resultTwo);
-    }
-
     @DisplayName("Должен найти по тексту свободные предметы, в имени или описании которых он есть")
     @Test
-    public void findByAvailableTrueAndDescriptionContainsIgnoreCaseOrAvailableTrueAndNameContainsIgnoreCase() {
+    public void searchAvailable() {
         Pageable pageable = getPageable(0, 10);
         String text = "RaK";
         String textTwo = "lkjhgf";
         String textThree = "hoe";
+        String textFour = "%";
 
-        List<Item> result = itemRepository
-                .findByAvailableTrueAndDescriptionContainsIgnoreCaseOrAvailableTrueAndNameContainsIgnoreCase(
-                        text, text, pageable);
-        List<Item> resultTwo = itemRepository
-                .findByAvailableTrueAndDescriptionContainsIgnoreCaseOrAvailableTrueAndNameContainsIgnoreCase(
-                        textTwo, textTwo, pageable);
-        List<Item> resultThree = itemRepository
-                .findByAvailableTrueAndDescriptionContainsIgnoreCaseOrAvailableTrueAndNameContainsIgnoreCase(
-                        textThree, textThree, pageable);
+        List<ItemDto> result = itemRepository.searchAvailable(text, pageable);
+        List<ItemDto> resultTwo = itemRepository.searchAvailable(textTwo, pageable);
+        List<ItemDto> resultThree = itemRepository.searchAvailable(textThree, pageable);
+        List<ItemDto> resultFour = itemRepository.searchAvailable(textFour, pageable);
 
         assertThat(result, hasSize(1));
-        assertThat(result, contains(itemTwo));
+        assertThat(result, contains(toItemDto(itemTwo)));
         assertThat(resultTwo, hasSize(0));
         assertThat(resultThree, hasSize(0));
+        assertThat(resultFour, hasSize(0));
     }
 
     @AfterEach
@@ -102,6 +72,10 @@ public class ItemRepositoryTest {
         itemRepository.deleteAll();
     }
 
+    private ItemDto toItemDto(Item item) {
+        return new ItemDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable(), null);
+    }
+
     private Pageable getPageable(Integer from, Integer size) {
         return PageRequest.of(from / size, size, Sort.unsorted());
     }
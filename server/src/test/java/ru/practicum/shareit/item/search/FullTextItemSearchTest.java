@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class FullTextItemSearchTest {
+    @DisplayName("Должен построить префиксный tsquery из слов запроса без служебных символов")
+    @Test
+    public void shouldBuildPrefixTsQuery() {
+        assertThat(FullTextItemSearch.toTsQuery("Wood  SAW"), is(equalTo(Optional.of("wood:* & saw:*"))));
+        assertThat(FullTextItemSearch.toTsQuery("дрель|!(':*"), is(equalTo(Optional.of("дрель:*"))));
+        assertThat(FullTextItemSearch.toTsQuery(" & ! "), is(equalTo(Optional.empty())));
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ItemSearchCacheTest {
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+    private static final Pageable SECOND_PAGE = PageRequest.of(1, 10);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ItemSearchCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemSearchCache(meterRegistry, 2, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+    }
+
+    @DisplayName("Должен возвращать повторный запрос из кэша и считать попадания и промахи")
+    @Test
+    public void shouldReturnCachedResults() {
+        List<ItemDto> first = search("drill", FIRST_PAGE, 1L);
+        List<ItemDto> second = search("drill", FIRST_PAGE, 1L);
+        search("drill", SECOND_PAGE);
+
+        assertThat(second, is(equalTo(first)));
+        assertThat(loads.get(), is(equalTo(2)));
+        assertThat(getCount("shareit.item.search.cache.requests", "result", "hit"), is(equalTo(1.0)));
+        assertThat(getCount("shareit.item.search.cache.requests", "result", "miss"), is(equalTo(2.0)));
+        assertThat(ItemSearchCache.normalize("  Power   DRILL "), is(equalTo("power drill")));
+    }
+
+    @DisplayName("Должен вытеснять давно не использованные запросы при превышении размера и устаревшие по времени")
+    @Test
+    public void shouldEvictBySizeAndTtl() {
+        search("drill", FIRST_PAGE);
+        search("saw", FIRST_PAGE);
+        search("drill", FIRST_PAGE);
+        search("hammer", FIRST_PAGE);
+        search("saw", FIRST_PAGE);
+
+        assertThat(loads.get(), is(equalTo(4)));
+        assertThat(cache.size(), is(equalTo(2)));
+        assertThat(getCount("shareit.item.search.cache.evictions", "cause", "size"), is(equalTo(2.0)));
+
+        ItemSearchCache expiring = new ItemSearchCache(meterRegistry, 2, Duration.ofNanos(1));
+        expiring.get("drill", FIRST_PAGE, () -> load());
+        expiring.get("drill", FIRST_PAGE, () -> load());
+
+        assertThat(loads.get(), is(equalTo(6)));
+        assertThat(getCount("shareit.item.search.cache.evictions", "cause", "expired"), is(equalTo(1.0)));
+    }
+
+    @DisplayName("Должен сбрасывать только запросы, на которые может повлиять изменение вещи")
+    @Test
+    public void shouldEvictOnlyAffectedQueries() {
+        cache = new ItemSearchCache(meterRegistry, 10, Duration.ofMinutes(1));
+        search("drill", FIRST_PAGE, 1L);
+        search("drill", SECOND_PAGE, 2L);
+        search("saw", FIRST_PAGE, 3L);
+
+        cache.evictChanged(null, getItem(4L, "Hammer", "Steel", true));
+        assertThat(cache.size(), is(equalTo(3)));
+
+        cache.evictChanged(null, getItem(5L, "Cordless dril", "Battery", true));
+        assertThat(cache.size(), is(equalTo(1)));
+
+        cache.evictChanged(getItem(3L, "Saw", "Wood", true), getItem(3L, "Saw", "Wood", true));
+        assertThat(cache.size(), is(equalTo(1)));
+
+        cache.evictChanged(getItem(3L, "Saw", "Wood", true), getItem(3L, "Saw", "Wood", false));
+        assertThat(cache.size(), is(equalTo(0)));
+        assertThat(getCount("shareit.item.search.cache.evictions", "cause", "invalidated"), is(equalTo(3.0)));
+    }
+
+    private List<ItemDto> search(String text, Pageable pageable, Long... ids) {
+        return cache.get(text, pageable, () -> load(ids));
+    }
+
+    private List<ItemDto> load(Long... ids) {
+        loads.incrementAndGet();
+        return Arrays.stream(ids)
+                .map(id -> new ItemDto(id, "Item " + id, "Description", true, null))
+                .collect(Collectors.toList());
+    }
+
+    private double getCount(String name, String tag, String value) {
+        return meterRegistry.get(name).tag(tag, value).counter().count();
+    }
+
+    private static Item getItem(Long id, String name, String description, Boolean available) {
+        return Item.builder().id(id).name(name).description(description).available(available).build();
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:lucene", "shareit.item.search.engine=lucene",
+        "shareit.item.search.lucene.path=" + LuceneItemSearchTest.INDEX_DIRECTORY},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class LuceneItemSearchTest {
+    static final String INDEX_DIRECTORY = "target/item-index-test";
+    private static final Path INDEX_PATH = Path.of(INDEX_DIRECTORY);
+
+    private final LuceneItemSearch luceneItemSearch;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private UserDto owner;
+    private ItemDto drill;
+    private ItemDto screwdriver;
+
+    @BeforeEach
+    public void setUp() {
+        luceneItemSearch.rebuild();
+        owner = userService.createUser(new UserDto(null, "Ivan", "ivan@mail.ru"));
+        drill = itemService.createItem(new ItemDto(null, "Drill", "impact drill", true, null), owner.getId());
+        screwdriver = itemService.createItem(new ItemDto(null, "Screwdriver", "works with a drill bit", true, null),
+                owner.getId());
+        itemService.createItem(new ItemDto(null, "Drill press", "bench drill", false, null), owner.getId());
+    }
+
+    @DisplayName("Должен найти доступные вещи с опечаткой и по префиксу, ставя совпадение в названии выше")
+    @Test
+    public void shouldSearchFuzzyAndPrefix() {
+        assertThat(search("drel"), contains(drill.getId(), screwdriver.getId()));
+        assertThat(search("screw"), contains(screwdriver.getId()));
+        assertThat(search("DRILL bit"), contains(screwdriver.getId()));
+        assertThat(search("hammer"), empty());
+        assertThat(luceneItemSearch.search("drill", PageRequest.of(1, 1)), contains(screwdriver));
+    }
+
+    @DisplayName("Должен выбирать нечёткий поиск один раз для текста, чтобы страницы не расходились")
+    @Test
+    public void shouldRankSameOnEveryPage() {
+        itemService.createItem(new ItemDto(null, "Driil", "typo in the name", true, null), owner.getId());
+
+        List<ItemDto> pages = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            pages.addAll(luceneItemSearch.search("drill", PageRequest.of(page, 1)));
+        }
+
+        assertThat(pages, is(equalTo(luceneItemSearch.search("drill", PageRequest.of(0, 3)))));
+        assertThat(search("drill"), contains(drill.getId(), screwdriver.getId()));
+        assertThat(search("driil"), hasSize(1));
+    }
+
+    @DisplayName("Должен сохранять изменения индекса на диск при фиксации")
+    @Test
+    public void shouldCommitIndexChanges() throws IOException {
+        luceneItemSearch.commit();
+
+        try (Directory directory = FSDirectory.open(INDEX_PATH);
+             DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertThat(reader.numDocs(), is(2));
+        }
+    }
+
+    @DisplayName("Должен обновлять индекс при изменении вещи и удалении владельца")
+    @Test
+    public void shouldUpdateIndexIncrementally() {
+        itemService.updateItem(new ItemDto(null, "Hammer", null, null, null), drill.getId(), owner.getId());
+        assertThat(search("hammer"), contains(drill.getId()));
+        assertThat(search("drill"), containsInAnyOrder(drill.getId(), screwdriver.getId()));
+
+        itemService.updateItem(new ItemDto(null, null, null, false, null), drill.getId(), owner.getId());
+        assertThat(search("hammer"), empty());
+
+        userService.deleteUserById(owner.getId());
+        assertThat(search("drill"), empty());
+    }
+
+    @DisplayName("Должен перестроить индекс по доступным вещам из базы")
+    @Test
+    public void shouldRebuildIndex() {
+        assertThat(luceneItemSearch.rebuild(), is(2L));
+        assertThat(luceneItemSearch.getIndexedCount(), is(2));
+        assertThat(search("drill"), contains(drill.getId(), screwdriver.getId()));
+    }
+
+    @AfterEach
+    public void deleteAll() {
+        userRepository.deleteAll();
+    }
+
+    private List<Long> search(String text) {
+        return luceneItemSearch.search(text, PageRequest.of(0, 10)).stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+    }
+}
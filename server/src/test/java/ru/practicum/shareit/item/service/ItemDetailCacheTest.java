@@ -0,0 +1,97 @@
+package ru.practicum.shareit.item.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingDtoInfo;
+import ru.practicum.shareit.item.dto.ItemDtoInfo;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ItemDetailCacheTest {
+    private static final Long OWNER_ID = 1L;
+    private static final Long USER_ID = 2L;
+    private static final Long OTHER_USER_ID = 3L;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ItemDetailCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemDetailCache(meterRegistry, 2, Duration.ofMinutes(1), 2, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+    }
+
+    @DisplayName("Должен отдавать из кэша общий вид вещи всем пользователям и отдельный вид хозяину")
+    @Test
+    public void shouldReturnCachedViews() {
+        ItemDtoInfo first = get(1L, USER_ID);
+        ItemDtoInfo second = get(1L, OTHER_USER_ID);
+        ItemDtoInfo forOwner = get(1L, OWNER_ID);
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(first.getLastBooking(), is(nullValue()));
+        assertThat(forOwner.getLastBooking(), is(notNullValue()));
+        assertThat(loads.get(), is(equalTo(1)));
+
+        cache.evictOwnerView(1L);
+        get(1L, USER_ID);
+        get(1L, OWNER_ID);
+        assertThat(loads.get(), is(equalTo(2)));
+
+        cache.evict(1L);
+        get(1L, USER_ID);
+        assertThat(loads.get(), is(equalTo(3)));
+        assertThat(getCount("shareit.item.detail.cache.requests", "public", "result", "hit"), is(equalTo(2.0)));
+        assertThat(getCount("shareit.item.detail.cache.requests", "owner", "result", "hit"), is(equalTo(1.0)));
+        assertThat(getCount("shareit.item.detail.cache.requests", "owner", "result", "miss"), is(equalTo(1.0)));
+        assertThat(getCount("shareit.item.detail.cache.evictions", "owner", "cause", "invalidated"),
+                is(equalTo(2.0)));
+    }
+
+    @DisplayName("Не должен сохранять вещь, загруженную одновременно с её изменением, и должен ограничивать размер")
+    @Test
+    public void shouldNotStoreDetailsLoadedDuringEviction() {
+        cache.get(1L, USER_ID, () -> {
+            loads.incrementAndGet();
+            cache.evict(1L);
+            return getDetails(1L);
+        });
+        get(1L, USER_ID);
+        assertThat(loads.get(), is(equalTo(2)));
+
+        get(2L, USER_ID);
+        get(3L, USER_ID);
+        assertThat(cache.size(), is(equalTo(4)));
+        assertThat(getCount("shareit.item.detail.cache.evictions", "public", "cause", "size"), is(equalTo(1.0)));
+
+        cache.evictAll();
+        assertThat(cache.size(), is(equalTo(0)));
+    }
+
+    private ItemDtoInfo get(Long itemId, Long userId) {
+        return cache.get(itemId, userId, () -> {
+            loads.incrementAndGet();
+            return getDetails(itemId);
+        });
+    }
+
+    private static ItemDetailCache.ItemDetails getDetails(Long itemId) {
+        ItemDtoInfo itemDtoInfo = new ItemDtoInfo(itemId, "Drill", "Cordless drill", true, null, null, List.of(), 0L);
+        ItemDtoInfo ownerItemDtoInfo = new ItemDtoInfo(itemId, "Drill", "Cordless drill", true,
+                BookingDtoInfo.builder().id(1L).build(), null, List.of(), 0L);
+        return new ItemDetailCache.ItemDetails(OWNER_ID, itemDtoInfo, ownerItemDtoInfo);
+    }
+
+    private double getCount(String name, String view, String tag, String value) {
+        return meterRegistry.get(name).tag("view", view).tag(tag, value).counter().count();
+    }
+}
@@ -9,28 +9,36 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoCreate;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.export.ExportFormat;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoInfo;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static ru.practicum.shareit.Constant.FIXED_TIME;
+import static ru.practicum.shareit.Constant.SUGGEST_LIMIT_MAX;
 
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -290,4 +298,112 @@ public class ItemServiceImplTest {
         );
         assertEquals("Only users whose booking has expired can leave comments", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @DisplayName("Должен выдать исключение, если начало периода доступности не раньше его конца")
+    @Test
+    public void shouldNotGetItemAvailabilityForEmptyPeriod() {
+        ValidationException exception = assertThrows(
+                ValidationException.class,
+                () -> itemService.getItemAvailability(1L, 1L, FIXED_TIME, FIXED_TIME)
+        );
+        assertEquals("The start of the period must be before its end", exception.getMessage());
+    }
+
+    @DisplayName("Должен отклонить подсказки с лимитом вне допустимых границ")
+    @Test
+    public void shouldNotSuggestItemsIfLimitIsOutOfRange() {
+        for (int limit : new int[]{0, SUGGEST_LIMIT_MAX + 1}) {
+            ValidationException exception = assertThrows(
+                    ValidationException.class,
+                    () -> itemService.suggestItems("dr", 1L, limit)
+            );
+            assertEquals("The suggestion limit must be from 1 to " + SUGGEST_LIMIT_MAX, exception.getMessage());
+        }
+    }
+
+    @DisplayName("Должен вернуть свободные интервалы только доступной вещи существующего пользователя")
+    @Test
+    public void shouldGetItemAvailability() {
+        UserDto userDtoOne = userService.createUser(userDtoOneCreate);
+        ItemDto itemDtoOne = itemService.createItem(itemDtoOneCreate, userDtoOne.getId());
+        ItemDto itemDtoUnavailable = itemService.createItem(new ItemDto(null, "rake", "leaf rake", false, null),
+                userDtoOne.getId());
+
+        assertThat(itemService.getItemAvailability(itemDtoOne.getId(), userDtoOne.getId(), FIXED_TIME,
+                FIXED_TIME.plusDays(1)), contains(new TimeSlotDto(FIXED_TIME, FIXED_TIME.plusDays(1))));
+        assertThat(itemService.getItemAvailability(itemDtoUnavailable.getId(), userDtoOne.getId(), FIXED_TIME,
+                FIXED_TIME.plusDays(1)), is(empty()));
+        NotFoundException itemNotFound = assertThrows(NotFoundException.class,
+                () -> itemService.getItemAvailability(500L, userDtoOne.getId(), FIXED_TIME, FIXED_TIME.plusDays(1)));
+        assertEquals("The item with this id=500 not found", itemNotFound.getMessage());
+        NotFoundException userNotFound = assertThrows(NotFoundException.class,
+                () -> itemService.getItemAvailability(itemDtoOne.getId(), 500L, FIXED_TIME, FIXED_TIME.plusDays(1)));
+        assertEquals("User with id=500 not found", userNotFound.getMessage());
+    }
+
+    @DisplayName("Должен выгрузить вещи владельца в CSV с экранированием значений")
+    @Test
+    public void shouldExportItemsToCsv() {
+        UserDto userDtoOne = userService.createUser(userDtoOneCreate);
+        ItemDto itemDtoOne = itemService.createItem(new ItemDto(null, "saw, big", "\"sharp\" saw", true, null),
+                userDtoOne.getId());
+        ItemDto itemDtoTwo = itemService.createItem(itemDtoTwoCreate, userDtoOne.getId());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        itemService.exportItems(userDtoOne.getId(), ExportFormat.CSV, outputStream);
+
+        assertThat(outputStream.toString(StandardCharsets.UTF_8).lines().collect(Collectors.toList()), contains(
+                "id,name,description,available,request_id",
+                itemDtoOne.getId() + ",\"saw, big\",\"\"\"sharp\"\" saw\",true,",
+                itemDtoTwo.getId() + ",rake,leaf rake,true,"));
+    }
+
+    @DisplayName("Должен выдать исключение при выгрузке вещей несуществующего пользователя")
+    @Test
+    public void shouldNotExportItemsIfUserDoesNotExist() {
+        NotFoundException exception = assertThrows(
+                NotFoundException.class,
+                () -> itemService.exportItems(500L, ExportFormat.NDJSON, new ByteArrayOutputStream())
+        );
+        assertEquals("User with id=500 not found", exception.getMessage());
+    }
+
+    @DisplayName("Должен загрузить вещи построчно и вернуть ошибки для неподходящих строк")
+    @Test
+    public void shouldImportItems() {
+        UserDto userDtoOne = userService.createUser(userDtoOneCreate);
+        UserDto userDtoTwo = userService.createUser(userDtoTwoCreate);
+        ItemRequestDtoInfo itemRequest = itemRequestService
+                .createItemRequest(itemRequestDtoCreateOne, userDtoTwo.getId());
+        String lines = "{\"line\":2,\"item\":{\"name\":\"saw\",\"description\":\"wood saw\",\"available\":true," +
+                "\"requestId\":" + itemRequest.getId() + "}}\n" +
+                "{\"line\":3,\"error\":\"name: must not be blank\"}\n" +
+                "{\"line\":4,\"item\":{\"name\":\"rake\",\"description\":\"leaf rake\",\"available\":true," +
+                "\"requestId\":500}}\n" +
+                "{\"line\":5,\"item\":{\"name\":\"drill\",\"description\":\"drill\",\"available\":false}}\n";
+
+        ItemImportResultDto result = itemService.importItems(userDtoOne.getId(),
+                new ByteArrayInputStream(lines.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getTotal(), is(4L));
+        assertThat(result.getImported(), is(2L));
+        assertThat(result.getFailed(), is(2L));
+        assertThat(result.getErrors(), contains(
+                allOf(hasProperty("line", is(3L)), hasProperty("error", is("name: must not be blank"))),
+                allOf(hasProperty("line", is(4L)), hasProperty("error", is("Request id=500 not found")))));
+        assertThat(itemService.getAllItemUser(userDtoOne.getId(), 0, 10), contains(
+                hasProperty("name", is("saw")), hasProperty("name", is("drill"))));
+        assertThat(itemService.searchItems("wood", userDtoOne.getId(), 0, 10),
+                contains(hasProperty("requestId", is(itemRequest.getId()))));
+    }
+
+    @DisplayName("Должен выдать исключение при загрузке вещей несуществующего пользователя")
+    @Test
+    public void shouldNotImportItemsIfUserDoesNotExist() {
+        NotFoundException exception = assertThrows(
+                NotFoundException.class,
+                () -> itemService.importItems(500L, new ByteArrayInputStream(new byte[0]))
+        );
+        assertEquals("User with id=500 not found", exception.getMessage());
+    }
+}
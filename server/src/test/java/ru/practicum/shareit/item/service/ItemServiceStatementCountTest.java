@@ -0,0 +1,155 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.pointer.BookingPointers;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemDtoInfo;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:test",
+        "spring.jpa.properties.hibernate.generate_statistics=true"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class ItemServiceStatementCountTest {
+    private static final int ITEMS = 20;
+    private static final int BOOKINGS_PER_ITEM = 6;
+    private static final int PAGE_SIZE = 10;
+
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final BookingPointers bookingPointers;
+    private final EntityManagerFactory entityManagerFactory;
+    private final LocalDateTime current = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private Statistics statistics;
+    private User owner;
+    private List<User> bookers;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(new User(null, "Ivan", "ivan@mail.ru"));
+        bookers = userRepository.saveAll(List.of(new User(null, "Sofia", "sofia@mail.ru"),
+                new User(null, "Petr", "petr@mail.ru")));
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Item(null, "saw" + i, "wood saw", true, owner, null));
+        }
+        items = itemRepository.saveAll(items);
+
+        BookingStatus[] statuses = BookingStatus.values();
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (Item item : items) {
+            for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                LocalDateTime start = current.plusDays(j * 2L + 1 - BOOKINGS_PER_ITEM);
+                bookings.add(new Booking(null, start, start.plusDays(1), item, bookers.get(j % bookers.size()),
+                        j % 3 == 2 ? statuses[j % statuses.length] : BookingStatus.APPROVED));
+            }
+            for (User booker : bookers) {
+                comments.add(new Comment(null, "good " + item.getName(), current, item, booker));
+            }
+        }
+        bookingRepository.saveAll(bookings);
+        commentRepository.saveAll(comments);
+        bookingPointers.repair(current);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @DisplayName("Должен вернуть страницу вещей хозяина с бронированиями и отзывами двумя запросами")
+    @Test
+    public void shouldGetAllItemUserWithTwoStatements() {
+        assertThat(countStatements(() -> itemService.getAllItemUser(owner.getId(), 0, PAGE_SIZE)), is(2L));
+        assertThat(countStatements(() -> itemService.getAllItemUser(owner.getId(), ITEMS, PAGE_SIZE)), is(1L));
+    }
+
+    @DisplayName("Должен вернуть страницу вещей хозяина с последним и следующим бронированием и авторами отзывов")
+    @Test
+    public void shouldGetAllItemUserWithBookingsAndComments() {
+        List<ItemDtoInfo> result = new ArrayList<>(itemService.getAllItemUser(owner.getId(), PAGE_SIZE,
+                PAGE_SIZE));
+
+        assertThat(result, hasSize(PAGE_SIZE));
+        assertThat(result.get(0).getName(), is(equalTo("saw" + PAGE_SIZE)));
+        assertThat(result, everyItem(hasProperty("lastBooking", hasProperty("start",
+                is(equalTo(current.minusDays(3)))))));
+        assertThat(result, everyItem(hasProperty("nextBooking", hasProperty("start",
+                is(equalTo(current.plusDays(1)))))));
+        assertThat(result, everyItem(hasProperty("comments", contains(hasProperty("authorName", is("Petr")),
+                hasProperty("authorName", is("Sofia"))))));
+        assertThat(result, everyItem(hasProperty("commentCount", is(2L))));
+    }
+
+    @DisplayName("Должен вернуть вещь хозяину и другому пользователю двумя запросами, а повторно из кэша")
+    @Test
+    public void shouldGetItemDtoByIdWithTwoStatements() {
+        List<Item> items = itemRepository.findAll();
+        Long ownerItemId = items.get(0).getId();
+        Long itemId = items.get(1).getId();
+
+        assertThat(countStatements(() -> itemService.getItemDtoById(ownerItemId, owner.getId())), is(2L));
+        assertThat(countStatements(() -> itemService.getItemDtoById(itemId, bookers.get(0).getId())), is(2L));
+        assertThat(countStatements(() -> itemService.getItemDtoById(itemId, bookers.get(1).getId())), is(0L));
+        assertThat(countStatements(() -> itemService.getItemDtoById(itemId, owner.getId())), is(0L));
+    }
+
+    @DisplayName("Должен показать бронирования вещи только хозяину, а отзывы всем пользователям")
+    @Test
+    public void shouldGetItemDtoByIdWithBookingsOnlyForOwner() {
+        Item item = itemRepository.findAll().get(0);
+
+        ItemDtoInfo forOwner = itemService.getItemDtoById(item.getId(), owner.getId());
+        ItemDtoInfo forBooker = itemService.getItemDtoById(item.getId(), bookers.get(0).getId());
+
+        assertThat(forOwner.getLastBooking().getStart(), is(equalTo(current.minusDays(3))));
+        assertThat(forOwner.getNextBooking().getStart(), is(equalTo(current.plusDays(1))));
+        assertThat(forBooker.getName(), is(equalTo(item.getName())));
+        assertThat(forBooker.getLastBooking(), is(nullValue()));
+        assertThat(forBooker.getNextBooking(), is(nullValue()));
+        assertThat(forBooker.getComments(), contains(hasProperty("authorName", is("Petr")),
+                hasProperty("authorName", is("Sofia"))));
+        assertThat(forBooker.getCommentCount(), is(2L));
+    }
+
+    @AfterEach
+    public void deleteAll() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private long countStatements(Supplier<?> call) {
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.item.suggest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ItemSuggestIndexTest {
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final ItemSuggestIndex itemSuggestIndex = new ItemSuggestIndex(itemRepository,
+            mock(PlatformTransactionManager.class), 3);
+
+    @DisplayName("Должен подсказывать самые частые слова названий по префиксу последнего слова")
+    @Test
+    public void shouldSuggestMostFrequentTokens() {
+        when(itemRepository.streamAvailableNames()).thenReturn(Stream.of("Drill", "Cordless drill", "Driver",
+                "Drill press", "Dryer", "Drum", "Saw"));
+
+        assertThat(itemSuggestIndex.rebuild(), is(7L));
+        assertThat(itemSuggestIndex.suggest("dr", 10), contains("drill", "driver", "drum"));
+        assertThat(itemSuggestIndex.suggest("  Cordless DRI", 10), contains("cordless drill", "cordless driver"));
+        assertThat(itemSuggestIndex.suggest("dr", 1), contains("drill"));
+        assertThat(itemSuggestIndex.suggest("x", 10), empty());
+        assertThat(itemSuggestIndex.suggest("saw ", 10), empty());
+    }
+
+    @DisplayName("Должен обновлять подсказки при создании, изменении и удалении вещей")
+    @Test
+    public void shouldUpdateSuggestionsOnChanges() {
+        when(itemRepository.streamAvailableNames()).thenReturn(Stream.of("Drill", "Driver"));
+        itemSuggestIndex.rebuild();
+
+        itemSuggestIndex.indexAfterCommit(null, getItem("Driver set", true));
+        itemSuggestIndex.indexAfterCommit(null, getItem("Dryer", false));
+        assertThat(itemSuggestIndex.suggest("dr", 10), contains("driver", "drill"));
+
+        itemSuggestIndex.indexAfterCommit(getItem("Driver set", true), getItem("Driver set", false));
+        itemSuggestIndex.indexAfterCommit(getItem("Drill", true), getItem("Dremel", true));
+        assertThat(itemSuggestIndex.suggest("dr", 10), contains("dremel", "driver"));
+
+        itemSuggestIndex.removeAfterCommit(List.of("Driver", "Dremel"));
+        assertThat(itemSuggestIndex.suggest("dr", 10), empty());
+    }
+
+    private static Item getItem(String name, Boolean available) {
+        return Item.builder().id(1L).name(name).description("description").available(available).build();
+    }
+}
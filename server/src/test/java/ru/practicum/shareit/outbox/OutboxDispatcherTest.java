@@ -0,0 +1,123 @@
+package ru.practicum.shareit.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:test", "shareit.outbox.batch-size=2",
+        "shareit.outbox.max-attempts=2"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class OutboxDispatcherTest {
+    private final OutboxDispatcher outboxDispatcher;
+    private final OutboxPublisher outboxPublisher;
+    private final OutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    @MockBean
+    private OutboxListener outboxListener;
+
+    @BeforeEach
+    public void setUp() {
+        outboxRepository.deleteAll();
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxPublisher.publish(OutboxEventType.BOOKING_CREATED, 1L, "first");
+            outboxPublisher.publishAll(OutboxEventType.BOOKING_APPROVED, List.of(2L, 3L), id -> id);
+        });
+    }
+
+    @DisplayName("Должен доставить все ожидающие события слушателям пакетами по порядку")
+    @Test
+    public void shouldDispatchPendingEventsInBatches() {
+        int dispatched = outboxDispatcher.dispatchPending();
+
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxListener, times(3)).onEvent(captor.capture());
+        assertThat(dispatched, is(3));
+        assertThat(captor.getAllValues().stream().map(OutboxEvent::getAggregateId).collect(Collectors.toList()),
+                contains(1L, 2L, 3L));
+        assertThat(captor.getAllValues().get(0).getPayload(), is(equalTo("\"first\"")));
+        assertThat(outboxRepository.findAll().stream().map(OutboxEvent::getDispatched)
+                .collect(Collectors.toList()), everyItem(notNullValue()));
+        assertThat(meterRegistry.get("shareit.outbox.dispatch.lag").timer().count(), is(greaterThanOrEqualTo(3L)));
+        assertThat(outboxDispatcher.dispatchPending(), is(0));
+    }
+
+    @DisplayName("Должен повторно доставить событие, которое слушатель не смог обработать")
+    @Test
+    public void shouldRedeliverFailedEvent() {
+        doThrow(new IllegalStateException("unavailable")).when(outboxListener)
+                .onEvent(argThat(event -> event.getAggregateId() == 2L));
+
+        assertThat(outboxDispatcher.dispatchPending(), is(1));
+        assertThat(outboxRepository.findAll().stream()
+                .filter(event -> event.getDispatched() == null)
+                .map(OutboxEvent::getAggregateId)
+                .collect(Collectors.toList()), containsInAnyOrder(2L, 3L));
+
+        reset(outboxListener);
+        assertThat(outboxDispatcher.dispatchPending(), is(2));
+        verify(outboxListener, times(2)).onEvent(any());
+        assertThat(outboxRepository.findAll().stream()
+                .filter(event -> event.getAggregateId() == 2L)
+                .map(OutboxEvent::getAttempts)
+                .collect(Collectors.toList()), contains(1));
+    }
+
+    @DisplayName("Должен пометить событие неудавшимся после последней попытки доставки")
+    @Test
+    public void shouldMarkEventFailedAfterMaxAttempts() {
+        doThrow(new IllegalStateException("unavailable")).when(outboxListener)
+                .onEvent(argThat(event -> event.getAggregateId() == 1L));
+        double exhausted = meterRegistry.get("shareit.outbox.dispatch.exhausted").counter().count();
+
+        outboxDispatcher.dispatchPending();
+        outboxDispatcher.dispatchPending();
+        reset(outboxListener);
+
+        assertThat(outboxDispatcher.dispatchPending(), is(0));
+        verify(outboxListener, never()).onEvent(any());
+        OutboxEvent failed = outboxRepository.findAll().stream()
+                .filter(event -> event.getAggregateId() == 1L)
+                .findFirst()
+                .orElseThrow();
+        assertThat(failed.getFailed(), is(notNullValue()));
+        assertThat(failed.getDispatched(), is(nullValue()));
+        assertThat(failed.getAttempts(), is(2));
+        assertThat(meterRegistry.get("shareit.outbox.dispatch.exhausted").counter().count(), is(exhausted + 1));
+    }
+
+    @DisplayName("Должен удалить события, доставленные раньше срока хранения")
+    @Test
+    public void shouldDeleteDispatchedEvents() {
+        outboxDispatcher.dispatchPending();
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.markDispatched(
+                List.of(outboxRepository.findAll().get(0).getId()), LocalDateTime.now().minusDays(30)));
+
+        assertThat(outboxDispatcher.deleteDispatched(), is(1));
+        assertThat(outboxRepository.count(), is(2L));
+    }
+
+    @AfterEach
+    public void deleteAll() {
+        outboxRepository.deleteAll();
+    }
+}
@@ -6,11 +6,20 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
 
 import java.util.Collection;
 import java.util.List;
@@ -19,6 +28,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.Constant.FIXED_TIME;
+import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
 
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -26,6 +37,10 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
         webEnvironment = SpringBootTest.WebEnvironment.NONE)
 public class UserServiceImplTest {
     private final UserService userService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingAvailability bookingAvailability;
     private UserDto userDtoOneCreate;
     private UserDto userDtoTwoCreate;
     private UserDto userDtoOne;
@@ -154,4 +169,24 @@ public class UserServiceImplTest {
         );
         assertEquals("User with id=" + userDtoCreated.getId() + " not found", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @DisplayName("Должен освободить интервалы бронирований вещей удалённого пользователя")
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void shouldRemoveAvailabilityOfDeletedUserBookings() {
+        User owner = userRepository.save(new User(null, "Ivan", "ivan.availability@mail.ru"));
+        User booker = userRepository.save(new User(null, "Lisa", "lisa.availability@mail.ru"));
+        Item item = itemRepository.save(new Item(null, "saw", "wood saw", true, owner, null));
+        Booking booking = bookingRepository.save(new Booking(null, FIXED_TIME.plusDays(1), FIXED_TIME.plusDays(2),
+                item, booker, APPROVED));
+        bookingAvailability.addAfterCommit(booking);
+        List<TimeSlotDto> before = bookingAvailability.getFreeSlots(item.getId(), FIXED_TIME, FIXED_TIME.plusDays(3));
+
+        userService.deleteUserById(owner.getId());
+        List<TimeSlotDto> after = bookingAvailability.getFreeSlots(item.getId(), FIXED_TIME, FIXED_TIME.plusDays(3));
+        userRepository.deleteById(booker.getId());
+
+        assertThat(before, hasSize(2));
+        assertThat(after, contains(new TimeSlotDto(FIXED_TIME, FIXED_TIME.plusDays(3))));
+    }
+}